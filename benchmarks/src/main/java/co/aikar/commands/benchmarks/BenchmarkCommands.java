@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2016-2020 Daniel Ennis (Aikar) - MIT License
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining
+ *  a copy of this software and associated documentation files (the
+ *  "Software"), to deal in the Software without restriction, including
+ *  without limitation the rights to use, copy, modify, merge, publish,
+ *  distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to
+ *  the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be
+ *  included in all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *  EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *  MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *  NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ *  LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ *  OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ *  WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package co.aikar.commands.benchmarks;
+
+import co.aikar.commands.BaseCommand;
+import co.aikar.commands.CommandCompletionContext;
+import co.aikar.commands.CommandCompletions;
+import co.aikar.commands.TestCommandManager;
+import co.aikar.commands.TestCommandSender;
+import co.aikar.commands.annotation.CommandAlias;
+import co.aikar.commands.annotation.CommandCompletion;
+import co.aikar.commands.annotation.Default;
+import co.aikar.commands.annotation.Description;
+import co.aikar.commands.annotation.Subcommand;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The commands shared by all benchmarks.
+ */
+public final class BenchmarkCommands {
+
+    private BenchmarkCommands() {
+    }
+
+    public enum Color {
+        RED, GREEN, BLUE, CYAN, MAGENTA, YELLOW, BLACK, WHITE
+    }
+
+    /**
+     * Creates a manager with every benchmark command registered, and completions of the given size.
+     */
+    public static TestCommandManager createManager(int completionSize) {
+        TestCommandManager manager = new TestCommandManager();
+        manager.enableUnstableAPI("help");
+        List<String> values = new ArrayList<>(completionSize);
+        for (int i = 0; i < completionSize; i++) {
+            values.add("value" + i);
+        }
+        @SuppressWarnings("unchecked")
+        CommandCompletions<CommandCompletionContext<?>> completions = (CommandCompletions<CommandCompletionContext<?>>) manager.getCommandCompletions();
+        completions.registerStaticCompletion("bigstatic", values);
+        completions.registerCompletion("bigdynamic", context -> values);
+        manager.getCommandReplacements().addReplacement("benchcolor", "blue");
+        manager.registerCommand(new RoutingCommand());
+        manager.registerCommand(new ContextCommand());
+        manager.registerCommand(new CompletionCommand());
+        return manager;
+    }
+
+    /**
+     * A sender that drops every message.
+     */
+    public static TestCommandSender createSender() {
+        return new TestCommandSender() {
+            @Override
+            public boolean hasPermission(String permission) {
+                return true;
+            }
+        };
+    }
+
+    @CommandAlias("route")
+    public static class RoutingCommand extends BaseCommand {
+        @Default
+        @Description("Shows nothing")
+        public void onDefault(TestCommandSender sender) {
+        }
+
+        @Subcommand("a")
+        @Description("One level deep")
+        public void onDepth1(TestCommandSender sender) {
+        }
+
+        @Subcommand("a b c")
+        @Description("Three levels deep")
+        public void onDepth3(TestCommandSender sender) {
+        }
+
+        @Subcommand("a b c d e")
+        @Description("Five levels deep")
+        public void onDepth5(TestCommandSender sender) {
+        }
+
+        @Subcommand("overload")
+        @Description("Overloaded by argument count")
+        public void onOverload(TestCommandSender sender, String first) {
+        }
+
+        @Subcommand("overload")
+        public void onOverload(TestCommandSender sender, int first, int second) {
+        }
+
+        @Subcommand("overload")
+        public void onOverload(TestCommandSender sender, int first, int second, int third) {
+        }
+    }
+
+    @CommandAlias("ctx")
+    public static class ContextCommand extends BaseCommand {
+        @Subcommand("int")
+        @Description("Resolves primitives")
+        public void onInt(TestCommandSender sender, int a, double b, long c) {
+        }
+
+        @Subcommand("enum")
+        @Description("Resolves an enum")
+        public void onEnum(TestCommandSender sender, Color color) {
+        }
+
+        @Subcommand("string")
+        @Description("Resolves strings")
+        public void onString(TestCommandSender sender, String a, String b) {
+        }
+    }
+
+    @CommandAlias("complete")
+    public static class CompletionCommand extends BaseCommand {
+        @Subcommand("static")
+        @CommandCompletion("@bigstatic")
+        @Description("Completes from a large static list")
+        public void onStatic(TestCommandSender sender, String value) {
+        }
+
+        @Subcommand("dynamic")
+        @CommandCompletion("@bigdynamic")
+        @Description("Completes from a large dynamic list")
+        public void onDynamic(TestCommandSender sender, String value) {
+        }
+
+        @Subcommand("sub1|sub2|sub3|sub4|sub5|sub6|sub7|sub8")
+        @Description("Many subcommand aliases")
+        public void onAliases(TestCommandSender sender) {
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2016-2020 Daniel Ennis (Aikar) - MIT License
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining
+ *  a copy of this software and associated documentation files (the
+ *  "Software"), to deal in the Software without restriction, including
+ *  without limitation the rights to use, copy, modify, merge, publish,
+ *  distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to
+ *  the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be
+ *  included in all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *  EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *  MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *  NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ *  LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ *  OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ *  WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package co.aikar.commands.benchmarks;
+
+import co.aikar.commands.CommandIssuer;
+import co.aikar.commands.RootCommand;
+import co.aikar.commands.TestCommandManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tab completion of subcommands and of large static and dynamic completion lists.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompletionBenchmark {
+
+    @Param({"100", "10000"})
+    public int size;
+
+    @Param({"", "value1"})
+    public String prefix;
+
+    private RootCommand rootCommand;
+    private CommandIssuer issuer;
+
+    @Setup
+    public void setup() {
+        TestCommandManager manager = BenchmarkCommands.createManager(size);
+        rootCommand = manager.getRootCommand("complete");
+        issuer = manager.getCommandIssuer(BenchmarkCommands.createSender());
+    }
+
+    @Benchmark
+    public List<String> subcommands() {
+        return rootCommand.getTabCompletions(issuer, "complete", new String[]{"sub"});
+    }
+
+    @Benchmark
+    public List<String> staticList() {
+        return rootCommand.getTabCompletions(issuer, "complete", new String[]{"static", prefix});
+    }
+
+    @Benchmark
+    public List<String> dynamicList() {
+        return rootCommand.getTabCompletions(issuer, "complete", new String[]{"dynamic", prefix});
+    }
+}
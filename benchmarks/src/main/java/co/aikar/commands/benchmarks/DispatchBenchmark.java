@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2016-2020 Daniel Ennis (Aikar) - MIT License
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining
+ *  a copy of this software and associated documentation files (the
+ *  "Software"), to deal in the Software without restriction, including
+ *  without limitation the rights to use, copy, modify, merge, publish,
+ *  distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to
+ *  the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be
+ *  included in all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *  EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *  MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *  NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ *  LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ *  OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ *  WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package co.aikar.commands.benchmarks;
+
+import co.aikar.commands.TestCommandManager;
+import co.aikar.commands.TestCommandSender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Routing through nested subcommands, overload selection and parameter context resolution.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DispatchBenchmark {
+
+    private TestCommandManager manager;
+    private TestCommandSender sender;
+
+    @Setup
+    public void setup() {
+        manager = BenchmarkCommands.createManager(16);
+        sender = BenchmarkCommands.createSender();
+    }
+
+    @State(Scope.Benchmark)
+    public static class Routes {
+        @Param({"route a", "route a b c", "route a b c d e"})
+        public String route;
+    }
+
+    @State(Scope.Benchmark)
+    public static class Overloads {
+        @Param({"route overload x", "route overload 1 2", "route overload 1 2 3"})
+        public String overload;
+    }
+
+    @Benchmark
+    public void routingDepth(Routes routes) {
+        manager.dispatchCommand(sender, routes.route);
+    }
+
+    @Benchmark
+    public void overloadResolution(Overloads overloads) {
+        manager.dispatchCommand(sender, overloads.overload);
+    }
+
+    @Benchmark
+    public void resolvePrimitives() {
+        manager.dispatchCommand(sender, "ctx int 42 3.5 9000");
+    }
+
+    @Benchmark
+    public void resolveEnum() {
+        manager.dispatchCommand(sender, "ctx enum magenta");
+    }
+
+    @Benchmark
+    public void resolveStrings() {
+        manager.dispatchCommand(sender, "ctx string hello world");
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2016-2020 Daniel Ennis (Aikar) - MIT License
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining
+ *  a copy of this software and associated documentation files (the
+ *  "Software"), to deal in the Software without restriction, including
+ *  without limitation the rights to use, copy, modify, merge, publish,
+ *  distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to
+ *  the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be
+ *  included in all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *  EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *  MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *  NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ *  LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ *  OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ *  WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package co.aikar.commands.benchmarks;
+
+import co.aikar.commands.CommandIssuer;
+import co.aikar.commands.MessageKeys;
+import co.aikar.commands.MessageType;
+import co.aikar.commands.TestCommandManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formatting localized messages with placeholders, command replacements and colors.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageBenchmark {
+
+    private TestCommandManager manager;
+    private CommandIssuer issuer;
+
+    @Setup
+    public void setup() {
+        manager = BenchmarkCommands.createManager(16);
+        issuer = manager.getCommandIssuer(BenchmarkCommands.createSender());
+    }
+
+    @Benchmark
+    public String withoutReplacements() {
+        return manager.formatMessage(issuer, MessageType.ERROR, MessageKeys.PERMISSION_DENIED);
+    }
+
+    @Benchmark
+    public String withReplacements() {
+        return manager.formatMessage(issuer, MessageType.SYNTAX, MessageKeys.INVALID_SYNTAX,
+                "{command}", "/route overload", "{syntax}", "<first> [second] %benchcolor");
+    }
+
+    @Benchmark
+    public String helpFormat() {
+        return manager.formatMessage(issuer, MessageType.HELP, MessageKeys.HELP_FORMAT,
+                "{command}", "route a b c", "{parameters}", "<value>", "{separator}", "-", "{description}", "Three levels deep");
+    }
+}
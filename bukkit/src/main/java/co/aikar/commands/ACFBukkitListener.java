@@ -26,6 +26,7 @@ package co.aikar.commands;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.server.PluginDisableEvent;
@@ -50,6 +51,8 @@ class ACFBukkitListener implements Listener {
     @EventHandler
     public void onPlayerJoin(PlayerJoinEvent event) {
         Player player = event.getPlayer();
+        this.manager.getOnlinePlayerIndex().add(player);
+        this.manager.getPermissionCache().invalidate(player.getUniqueId());
         if(this.manager.autoDetectFromClient) {
             this.manager.readPlayerLocale(player);
             this.plugin.getServer().getScheduler().runTaskLater(this.plugin, () -> manager.readPlayerLocale(player), 20);
@@ -63,5 +66,13 @@ class ACFBukkitListener implements Listener {
     public void onPlayerQuit(PlayerQuitEvent quitEvent) {
         //cleanup
         manager.issuersLocale.remove(quitEvent.getPlayer().getUniqueId());
+        manager.getOnlinePlayerIndex().remove(quitEvent.getPlayer());
+        manager.getPermissionCache().invalidate(quitEvent.getPlayer().getUniqueId());
+    }
+
+    @EventHandler
+    public void onWorldChange(PlayerChangedWorldEvent event) {
+        // permissions may be per world
+        manager.getPermissionCache().invalidate(event.getPlayer().getUniqueId());
     }
 }
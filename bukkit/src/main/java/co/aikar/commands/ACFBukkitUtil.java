@@ -274,7 +274,10 @@ public class ACFBukkitUtil {
             return null;
         }
 
-        List<Player> matches = Bukkit.getServer().matchPlayer(name);
+        CommandManager manager = issuer.getManager();
+        List<Player> matches = manager instanceof BukkitCommandManager
+                ? ((BukkitCommandManager) manager).getOnlinePlayerIndex().match(name)
+                : Bukkit.getServer().matchPlayer(name);
         List<Player> confirmList = new ArrayList<>();
         findMatches(search, requester, matches, confirmList);
 
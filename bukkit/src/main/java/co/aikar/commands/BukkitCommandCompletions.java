@@ -32,7 +32,6 @@ import org.bukkit.World;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
-import org.bukkit.util.StringUtil;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -69,6 +68,7 @@ public class BukkitCommandCompletions extends CommandCompletions<BukkitCommandCo
                 Bukkit.getWorlds().stream().map(World::getName).collect(Collectors.toList())
         ));
 
+        // Not async: Player#canSee must be called on the main thread
         registerCompletion("players", c -> {
             CommandSender sender = c.getSender();
             Validate.notNull(sender, "Sender cannot be null");
@@ -76,15 +76,11 @@ public class BukkitCommandCompletions extends CommandCompletions<BukkitCommandCo
             Player senderPlayer = sender instanceof Player ? (Player) sender : null;
 
             ArrayList<String> matchedPlayers = new ArrayList<>();
-            for (Player player : Bukkit.getOnlinePlayers()) {
-                String name = player.getName();
-                if ((senderPlayer == null || senderPlayer.canSee(player)) && StringUtil.startsWithIgnoreCase(name, c.getInput())) {
-                    matchedPlayers.add(name);
+            for (Player player : manager.getOnlinePlayerIndex().startingWith(c.getInput())) {
+                if (senderPlayer == null || senderPlayer.canSee(player)) {
+                    matchedPlayers.add(player.getName());
                 }
             }
-
-
-            matchedPlayers.sort(String.CASE_INSENSITIVE_ORDER);
             return matchedPlayers;
         });
 
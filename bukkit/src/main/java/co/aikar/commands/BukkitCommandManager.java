@@ -57,6 +57,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.Executor;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
@@ -88,6 +89,7 @@ public class BukkitCommandManager extends CommandManager<
     protected BukkitLocales locales;
     private boolean cantReadLocale = false;
     protected boolean autoDetectFromClient = true;
+    private final OnlinePlayerIndex onlinePlayerIndex = new OnlinePlayerIndex();
 
     @SuppressWarnings("JavaReflectionMemberAccess")
     public BukkitCommandManager(Plugin plugin) {
@@ -119,6 +121,7 @@ public class BukkitCommandManager extends CommandManager<
         });
 
         Bukkit.getPluginManager().registerEvents(new ACFBukkitListener(this, plugin), plugin);
+        Bukkit.getOnlinePlayers().forEach(this.onlinePlayerIndex::add);
 
         getLocales(); // auto load locales
         this.localeTask = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
@@ -173,6 +176,29 @@ public class BukkitCommandManager extends CommandManager<
         return this.plugin;
     }
 
+    /**
+     * @return The online players by name, safe to read from async threads
+     */
+    public OnlinePlayerIndex getOnlinePlayerIndex() {
+        return this.onlinePlayerIndex;
+    }
+
+    @Override
+    public Executor getAsyncCommandExecutor() {
+        return task -> Bukkit.getScheduler().runTaskAsynchronously(this.plugin, task);
+    }
+
+    @Override
+    public Executor getMainThreadExecutor() {
+        return task -> {
+            if (Bukkit.isPrimaryThread()) {
+                task.run();
+            } else {
+                Bukkit.getScheduler().runTask(this.plugin, task);
+            }
+        };
+    }
+
     @Override
     public boolean isCommandIssuer(Class<?> type) {
         return CommandSender.class.isAssignableFrom(type);
@@ -280,6 +306,7 @@ public class BukkitCommandManager extends CommandManager<
         for (String key : new HashSet<>(registeredCommands.keySet())) {
             unregisterCommand(registeredCommands.get(key));
         }
+        this.asyncCommandTracker.shutdown();
     }
 
 
@@ -39,6 +39,7 @@ public class BukkitRootCommand extends Command implements RootCommand, PluginIde
     private final String name;
     private BaseCommand defCommand;
     private SetMultimap<String, RegisteredCommand> subCommands = HashMultimap.create();
+    private final SubcommandTrie subcommandTrie = new SubcommandTrie();
     private List<BaseCommand> children = new ArrayList<>();
     boolean isRegistered = false;
 
@@ -105,6 +106,11 @@ public class BukkitRootCommand extends Command implements RootCommand, PluginIde
         return this.subCommands;
     }
 
+    @Override
+    public SubcommandTrie getSubcommandTrie() {
+        return this.subcommandTrie;
+    }
+
     @Override
     public List<BaseCommand> getChildren() {
         return children;
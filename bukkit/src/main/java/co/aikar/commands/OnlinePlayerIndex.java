@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2016-2020 Daniel Ennis (Aikar) - MIT License
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining
+ *  a copy of this software and associated documentation files (the
+ *  "Software"), to deal in the Software without restriction, including
+ *  without limitation the rights to use, copy, modify, merge, publish,
+ *  distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to
+ *  the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be
+ *  included in all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *  EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *  MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *  NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ *  LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ *  OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ *  WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package co.aikar.commands;
+
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * The online players, sorted by their lower cased name.
+ * <p>
+ * Kept up to date from join and quit events by the {@link ACFBukkitListener}, so that completing player names only
+ * visits the players whose name starts with the input. Reads do not lock and are safe from async threads.
+ */
+public final class OnlinePlayerIndex {
+    private final ConcurrentSkipListMap<String, Player> players = new ConcurrentSkipListMap<>();
+
+    OnlinePlayerIndex() {
+    }
+
+    void add(Player player) {
+        players.put(fold(player.getName()), player);
+    }
+
+    void remove(Player player) {
+        players.remove(fold(player.getName()), player);
+    }
+
+    /**
+     * @param name
+     * @return The online player with exactly this name, ignoring case
+     */
+    @Nullable
+    public Player getExact(String name) {
+        return players.get(fold(name));
+    }
+
+    /**
+     * @param prefix
+     * @return The online players whose name starts with the prefix ignoring case, in name order
+     */
+    @NotNull
+    public Collection<Player> startingWith(String prefix) {
+        if (prefix == null || prefix.isEmpty()) {
+            return players.values();
+        }
+        String key = fold(prefix);
+        ConcurrentNavigableMap<String, Player> range = players.subMap(key, true, key + Character.MAX_VALUE, false);
+        return range.values();
+    }
+
+    /**
+     * Same matching as {@link org.bukkit.Server#matchPlayer(String)}: the player with exactly this name if there is
+     * one, otherwise all players whose name contains it, ignoring case. Matches are returned in name order rather than
+     * in the order the server lists its players.
+     *
+     * @param name
+     * @return A new, modifiable list of the matching players
+     */
+    @NotNull
+    public List<Player> match(String name) {
+        List<Player> matches = new ArrayList<>();
+        String key = fold(name);
+        Player exact = players.get(key);
+        if (exact != null) {
+            matches.add(exact);
+            return matches;
+        }
+        for (Map.Entry<String, Player> entry : players.entrySet()) {
+            if (entry.getKey().contains(key)) {
+                matches.add(entry.getValue());
+            }
+        }
+        return matches;
+    }
+
+    public int size() {
+        return players.size();
+    }
+
+    private static String fold(String name) {
+        return name.toLowerCase(Locale.ENGLISH);
+    }
+}
@@ -3,6 +3,7 @@ package co.aikar.commands;
 import net.md_5.bungee.api.connection.ProxiedPlayer;
 import net.md_5.bungee.api.event.PlayerDisconnectEvent;
 import net.md_5.bungee.api.event.PostLoginEvent;
+import net.md_5.bungee.api.event.ServerSwitchEvent;
 import net.md_5.bungee.api.plugin.Listener;
 import net.md_5.bungee.api.plugin.Plugin;
 import net.md_5.bungee.event.EventHandler;
@@ -33,5 +34,12 @@ public class ACFBungeeListener implements Listener {
         //cleanup
         ProxiedPlayer player = disconnectEvent.getPlayer();
         manager.issuersLocale.remove(player.getUniqueId());
+        manager.getPermissionCache().invalidate(player.getUniqueId());
+    }
+
+    @EventHandler
+    public void onServerSwitch(ServerSwitchEvent switchEvent) {
+        // permissions may depend on the server the player is on
+        manager.getPermissionCache().invalidate(switchEvent.getPlayer().getUniqueId());
     }
 }
@@ -153,6 +153,7 @@ public class BungeeCommandManager extends CommandManager<
         for (Map.Entry<String, BungeeRootCommand> entry : registeredCommands.entrySet()) {
             unregisterCommand(entry.getValue());
         }
+        this.asyncCommandTracker.shutdown();
     }
 
     @Override
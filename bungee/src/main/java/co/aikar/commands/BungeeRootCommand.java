@@ -38,6 +38,7 @@ public class BungeeRootCommand extends Command implements RootCommand, TabExecut
     private final String name;
     private BaseCommand defCommand;
     private SetMultimap<String, RegisteredCommand> subCommands = HashMultimap.create();
+    private final SubcommandTrie subcommandTrie = new SubcommandTrie();
     private List<BaseCommand> children = new ArrayList<>();
     boolean isRegistered = false;
     private String uniquePermission;
@@ -73,6 +74,11 @@ public class BungeeRootCommand extends Command implements RootCommand, TabExecut
         return subCommands;
     }
 
+    @Override
+    public SubcommandTrie getSubcommandTrie() {
+        return subcommandTrie;
+    }
+
     @Override
     public List<BaseCommand> getChildren() {
         return children;
@@ -37,6 +37,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Random;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -48,6 +49,11 @@ public final class ACFUtil {
 
     public static final Random RANDOM = new Random();
 
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
     private ACFUtil() {
     }
 
@@ -134,6 +140,37 @@ public final class ACFUtil {
         return def;
     }
 
+    /**
+     * Parses a duration such as 500ms, 30s, 5m or 1h. A number without a unit is taken as seconds.
+     *
+     * @return The duration in milliseconds
+     * @throws IllegalArgumentException if the duration is malformed
+     */
+    public static long parseDuration(String value) {
+        value = value.trim().toLowerCase(Locale.ENGLISH);
+        int end = 0;
+        while (end < value.length() && Character.isDigit(value.charAt(end))) {
+            end++;
+        }
+        if (end == 0) {
+            throw new IllegalArgumentException("Invalid duration: " + value);
+        }
+        long amount = Long.parseLong(value.substring(0, end));
+        switch (value.substring(end).trim()) {
+            case "ms":
+                return amount;
+            case "":
+            case "s":
+                return TimeUnit.SECONDS.toMillis(amount);
+            case "m":
+                return TimeUnit.MINUTES.toMillis(amount);
+            case "h":
+                return TimeUnit.HOURS.toMillis(amount);
+            default:
+                throw new IllegalArgumentException("Invalid duration: " + value);
+        }
+    }
+
     public static Integer parseInt(String var) {
         return parseInt(var, null);
     }
@@ -466,11 +503,73 @@ public final class ACFUtil {
 
 
     public static Number parseNumber(String num, boolean suffixes) {
-        ApplyModifierToNumber applyModifierToNumber = new ApplyModifierToNumber(num, suffixes).invoke();
-        num = applyModifierToNumber.getNum();
-        double mod = applyModifierToNumber.getMod();
+        return parseDecimal(num, suffixes);
+    }
 
-        return Double.parseDouble(num) * mod;
+    /**
+     * Parses a number the same way as {@link #parseNumber(String, boolean)}, without allocating for plain decimals.
+     * <p>
+     * Numbers of up to 15 significant digits without an exponent, like nearly all command input, are parsed directly
+     * and exactly. Anything else is handed to {@link Double#parseDouble(String)}.
+     *
+     * @param num      The number to parse
+     * @param suffixes Whether a trailing k or m multiplies the number by a thousand or a million
+     * @throws NumberFormatException if the input is not a number
+     */
+    public static double parseDecimal(String num, boolean suffixes) {
+        int end = num.length();
+        double mod = 1;
+        if (suffixes && end > 0) {
+            switch (num.charAt(end - 1)) {
+                case 'M':
+                case 'm':
+                    mod = 1000000D;
+                    end--;
+                    break;
+                case 'K':
+                case 'k':
+                    mod = 1000D;
+                    end--;
+            }
+        }
+
+        int i = 0;
+        boolean negative = false;
+        if (end > 0 && (num.charAt(0) == '-' || num.charAt(0) == '+')) {
+            negative = num.charAt(0) == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int significant = 0;
+        int scale = 0;
+        boolean digits = false;
+        boolean fraction = false;
+        for (; i < end; i++) {
+            char c = num.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits = true;
+                if (fraction) {
+                    scale++;
+                }
+                if (significant == 0 && c == '0') {
+                    continue;
+                }
+                if (++significant > 15) {
+                    break;
+                }
+                mantissa = mantissa * 10 + (c - '0');
+            } else if (c == '.' && !fraction) {
+                fraction = true;
+            } else {
+                break;
+            }
+        }
+        if (i < end || !digits || scale >= POWERS_OF_TEN.length) {
+            return Double.parseDouble(num.substring(0, end)) * mod;
+        }
+        // Both the mantissa and the power of ten are exact doubles, so the division is rounded correctly
+        double value = mantissa / POWERS_OF_TEN[scale];
+        return (negative ? -value : value) * mod;
     }
 
     public static BigDecimal parseBigNumber(String num, boolean suffixes) {
@@ -105,6 +105,13 @@ class Annotations <M extends CommandManager> extends AnnotationLookups {
         return value;
     }
 
+    /**
+     * Gets the annotation of type annoClass on the element, also when it is only present as a meta-annotation.
+     */
+    <T extends Annotation> T getAnnotation(AnnotatedElement object, Class<T> annoClass) {
+        return annoClass.cast(getAnnotationRecursive(object, annoClass, new HashSet<>()));
+    }
+
     private static Annotation getAnnotationRecursive(AnnotatedElement object, Class<? extends Annotation> annoClass, Collection<Annotation> checked) {
         if (object.isAnnotationPresent(annoClass)) {
             return object.getAnnotation(annoClass);
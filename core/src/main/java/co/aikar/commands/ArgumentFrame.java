@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2016-2020 Daniel Ennis (Aikar) - MIT License
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining
+ *  a copy of this software and associated documentation files (the
+ *  "Software"), to deal in the Software without restriction, including
+ *  without limitation the rights to use, copy, modify, merge, publish,
+ *  distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to
+ *  the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be
+ *  included in all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *  EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *  MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *  NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ *  LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ *  OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ *  WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+
+package co.aikar.commands;
+
+import co.aikar.commands.contexts.BooleanContextResolver;
+import co.aikar.commands.contexts.ContextResolver;
+import co.aikar.commands.contexts.DoubleContextResolver;
+import co.aikar.commands.contexts.IntContextResolver;
+import co.aikar.commands.contexts.LongContextResolver;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * The values resolved for a command's parameters, stored by parameter position.
+ * <p>
+ * Parameters are resolved in order, so the frame only exposes the positions filled so far. The {@link java.util.Map}
+ * view keeps {@link CommandExecutionContext#getPassedArgs()} and name based lookups working, using the name to
+ * parameter index precomputed when the command was registered.
+ * <p>
+ * Values of int, long, double and boolean parameters resolved by a primitive resolver such as
+ * {@link IntContextResolver} are kept unboxed in a separate slot, and only boxed when read through the map view.
+ */
+final class ArgumentFrame extends AbstractMap<String, Object> {
+    private final RegisteredCommand<?> command;
+    private final Object[] values;
+    private long[] primitives;
+    private boolean[] primitive;
+    private int resolved;
+
+    ArgumentFrame(RegisteredCommand<?> command) {
+        this.command = command;
+        this.values = new Object[command.parameters.length];
+    }
+
+    void set(int index, Object value) {
+        values[index] = value;
+        if (primitive != null) {
+            primitive[index] = false;
+        }
+        if (index >= resolved) {
+            resolved = index + 1;
+        }
+    }
+
+    private void setPrimitive(int index, long value) {
+        if (primitives == null) {
+            primitives = new long[values.length];
+            primitive = new boolean[values.length];
+        }
+        values[index] = null;
+        primitives[index] = value;
+        primitive[index] = true;
+        if (index >= resolved) {
+            resolved = index + 1;
+        }
+    }
+
+    /**
+     * Resolves the parameter at the given index without boxing, if both the parameter and the resolver are primitive.
+     *
+     * @return false if the value has to be resolved through {@link ContextResolver#getContext(CommandExecutionContext)}
+     */
+    @SuppressWarnings("unchecked")
+    boolean resolvePrimitive(int index, ContextResolver resolver, CommandExecutionContext context) throws InvalidCommandArgument {
+        Class<?> type = command.parameters[index].getType();
+        if (type == int.class && resolver instanceof IntContextResolver) {
+            setPrimitive(index, ((IntContextResolver) resolver).getInt(context));
+        } else if (type == long.class && resolver instanceof LongContextResolver) {
+            setPrimitive(index, ((LongContextResolver) resolver).getLong(context));
+        } else if (type == double.class && resolver instanceof DoubleContextResolver) {
+            setPrimitive(index, Double.doubleToRawLongBits(((DoubleContextResolver) resolver).getDouble(context)));
+        } else if (type == boolean.class && resolver instanceof BooleanContextResolver) {
+            setPrimitive(index, ((BooleanContextResolver) resolver).getBoolean(context) ? 1 : 0);
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private boolean isPrimitive(int index) {
+        return primitive != null && primitive[index];
+    }
+
+    int getInt(int index) {
+        return isPrimitive(index) ? (int) primitives[index] : widen(values[index], INT).intValue();
+    }
+
+    long getLong(int index) {
+        return isPrimitive(index) ? primitives[index] : widen(values[index], LONG).longValue();
+    }
+
+    double getDouble(int index) {
+        return isPrimitive(index) ? Double.longBitsToDouble(primitives[index]) : widen(values[index], DOUBLE).doubleValue();
+    }
+
+    boolean getBoolean(int index) {
+        return isPrimitive(index) ? primitives[index] != 0 : (Boolean) values[index];
+    }
+
+    private static final int INT = 2;
+    private static final int LONG = 3;
+    private static final int DOUBLE = 5;
+
+    /**
+     * Applies the widening conversions {@link java.lang.reflect.Method#invoke} would, so a boxed value set by a
+     * plain resolver, such as an Integer for a long parameter, is accepted the same way.
+     */
+    private static Number widen(Object value, int widest) {
+        if (value instanceof Character) {
+            return (int) (Character) value;
+        }
+        int rank = value instanceof Byte ? 0 : value instanceof Short ? 1 : value instanceof Integer ? 2
+                : value instanceof Long ? 3 : value instanceof Float ? 4 : value instanceof Double ? 5 : -1;
+        if (rank < 0 || rank > widest) {
+            throw new IllegalArgumentException("argument type mismatch");
+        }
+        return (Number) value;
+    }
+
+    Object getObject(int index) {
+        if (!isPrimitive(index)) {
+            return values[index];
+        }
+        Class<?> type = command.parameters[index].getType();
+        if (type == int.class) {
+            return getInt(index);
+        } else if (type == long.class) {
+            return getLong(index);
+        } else if (type == double.class) {
+            return getDouble(index);
+        }
+        return getBoolean(index);
+    }
+
+    /**
+     * @return The values boxed into an array in parameter order, ready to be passed to the command method reflectively
+     */
+    Object[] getValues() {
+        if (primitive != null) {
+            for (int i = 0; i < resolved; i++) {
+                if (primitive[i]) {
+                    values[i] = getObject(i);
+                    primitive[i] = false;
+                }
+            }
+        }
+        return values;
+    }
+
+    private int indexOf(Object name) {
+        CommandParameter<?> parameter = command.getParameter(name);
+        if (parameter == null || parameter.getParamIndex() >= resolved) {
+            return -1;
+        }
+        return parameter.getParamIndex();
+    }
+
+    @Override
+    public Object get(Object key) {
+        int index = indexOf(key);
+        return index != -1 ? getObject(index) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) != -1;
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        CommandParameter<?> parameter = command.getParameter(key);
+        if (parameter == null) {
+            throw new UnsupportedOperationException("No parameter named " + key + " on " + command.command);
+        }
+        Object old = get(key);
+        set(parameter.getParamIndex(), value);
+        return old;
+    }
+
+    @Override
+    public int size() {
+        return resolved;
+    }
+
+    @Override
+    public Collection<Object> values() {
+        return new AbstractList<Object>() {
+            @Override
+            public Object get(int index) {
+                if (index >= resolved) {
+                    throw new IndexOutOfBoundsException(String.valueOf(index));
+                }
+                return getObject(index);
+            }
+
+            @Override
+            public int size() {
+                return resolved;
+            }
+        };
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<Entry<String, Object>>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new Iterator<Entry<String, Object>>() {
+                    private int next = 0;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < resolved;
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        if (next >= resolved) {
+                            throw new NoSuchElementException();
+                        }
+                        int index = next++;
+                        return new SimpleImmutableEntry<>(command.parameters[index].getName(), getObject(index));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return resolved;
+            }
+        };
+    }
+}
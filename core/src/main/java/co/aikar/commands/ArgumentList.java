@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2016-2020 Daniel Ennis (Aikar) - MIT License
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining
+ *  a copy of this software and associated documentation files (the
+ *  "Software"), to deal in the Software without restriction, including
+ *  without limitation the rights to use, copy, modify, merge, publish,
+ *  distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to
+ *  the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be
+ *  included in all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *  EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *  MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *  NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ *  LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ *  OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ *  WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+
+package co.aikar.commands;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * The argument cursor handed to context resolvers.
+ * <p>
+ * Consuming from either end, as {@link CommandExecutionContext#popFirstArg()} and
+ * {@link CommandExecutionContext#popLastArg()} do, only moves an index. The backing array is shared with the copy it
+ * was created from and is only duplicated once a resolver inserts or replaces an argument.
+ */
+final class ArgumentList extends AbstractList<String> implements RandomAccess {
+    private String[] values;
+    private boolean shared;
+    private int head;
+    private int tail;
+
+    ArgumentList(String[] values) {
+        this(values, 0, values.length);
+    }
+
+    private ArgumentList(String[] values, int head, int tail) {
+        this.values = values;
+        this.head = head;
+        this.tail = tail;
+        this.shared = true;
+    }
+
+    static ArgumentList copyOf(List<String> args) {
+        if (args instanceof ArgumentList) {
+            return ((ArgumentList) args).copy();
+        }
+        return new ArgumentList(args.toArray(new String[0]));
+    }
+
+    ArgumentList copy() {
+        this.shared = true;
+        return new ArgumentList(values, head, tail);
+    }
+
+    @Override
+    public String get(int index) {
+        checkIndex(index);
+        return values[head + index];
+    }
+
+    @Override
+    public int size() {
+        return tail - head;
+    }
+
+    @Override
+    public String set(int index, String element) {
+        checkIndex(index);
+        own(0);
+        String old = values[head + index];
+        values[head + index] = element;
+        return old;
+    }
+
+    @Override
+    public void add(int index, String element) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        own(1);
+        int pos = head + index;
+        System.arraycopy(values, pos, values, pos + 1, tail - pos);
+        values[pos] = element;
+        tail++;
+        modCount++;
+    }
+
+    @Override
+    public String remove(int index) {
+        checkIndex(index);
+        String old = values[head + index];
+        if (index == 0) {
+            head++;
+        } else if (index == size() - 1) {
+            tail--;
+        } else {
+            own(0);
+            int pos = head + index;
+            System.arraycopy(values, pos + 1, values, pos, tail - pos - 1);
+            values[--tail] = null;
+        }
+        modCount++;
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        head = tail;
+        modCount++;
+    }
+
+    @Override
+    public Object[] toArray() {
+        return Arrays.copyOfRange(values, head, tail, Object[].class);
+    }
+
+    /**
+     * Makes sure the backing array is private to this list and has room for the given amount of extra elements.
+     */
+    private void own(int extra) {
+        if (!shared && tail + extra <= values.length) {
+            return;
+        }
+        int size = size();
+        String[] copy = new String[size + Math.max(extra, 4)];
+        System.arraycopy(values, head, copy, 0, size);
+        values = copy;
+        head = 0;
+        tail = size;
+        shared = false;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+    }
+}
@@ -0,0 +1,336 @@
+/*
+ * Copyright (c) 2016-2020 Daniel Ennis (Aikar) - MIT License
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining
+ *  a copy of this software and associated documentation files (the
+ *  "Software"), to deal in the Software without restriction, including
+ *  without limitation the rights to use, copy, modify, merge, publish,
+ *  distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to
+ *  the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be
+ *  included in all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *  EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *  MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *  NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ *  LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ *  OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ *  WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package co.aikar.commands;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps track of commands that are still running after their method returned, either because they are
+ * {@link co.aikar.commands.annotation.Async} or because they returned a {@link CompletionStage}.
+ * <p>
+ * Limits on how many of these may be in flight, per issuer and in total, stop a spammed expensive command from
+ * queueing unbounded work. Issuers over the limit are told so through {@link MessageKeys#TOO_MANY_PENDING_COMMANDS}.
+ * Returned stages that take longer than their timeout are cancelled and reported through {@link MessageKeys#COMMAND_TIMED_OUT}.
+ * <p>
+ * Limits and the default timeout are disabled by default.
+ */
+public final class AsyncCommandTracker {
+    private final CommandManager manager;
+    private final Set<PendingCommand> pending = ConcurrentHashMap.newKeySet();
+    private final Map<UUID, Integer> perIssuer = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int maxInFlight = 0;
+    private volatile int maxInFlightPerIssuer = 0;
+    private volatile long defaultTimeoutMillis = 0;
+    private volatile ScheduledExecutorService timer;
+
+    AsyncCommandTracker(CommandManager manager) {
+        this.manager = manager;
+    }
+
+    /**
+     * Sets how many tracked commands may be in flight across all issuers. 0 removes the limit.
+     */
+    public void setMaxInFlight(int maxInFlight) {
+        if (maxInFlight < 0) {
+            throw new IllegalArgumentException("maxInFlight may not be negative");
+        }
+        this.maxInFlight = maxInFlight;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Sets how many tracked commands a single issuer may have in flight. 0 removes the limit.
+     */
+    public void setMaxInFlightPerIssuer(int maxInFlightPerIssuer) {
+        if (maxInFlightPerIssuer < 0) {
+            throw new IllegalArgumentException("maxInFlightPerIssuer may not be negative");
+        }
+        this.maxInFlightPerIssuer = maxInFlightPerIssuer;
+    }
+
+    public int getMaxInFlightPerIssuer() {
+        return maxInFlightPerIssuer;
+    }
+
+    /**
+     * Sets the timeout for returned stages of commands without a {@link co.aikar.commands.annotation.Timeout}.
+     * A duration of 0 disables the timeout.
+     */
+    public void setDefaultTimeout(long duration, @NotNull TimeUnit unit) {
+        if (duration < 0) {
+            throw new IllegalArgumentException("Timeout may not be negative");
+        }
+        this.defaultTimeoutMillis = unit.toMillis(duration);
+    }
+
+    public long getDefaultTimeout(@NotNull TimeUnit unit) {
+        return unit.convert(defaultTimeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public int getInFlight(@NotNull UUID issuer) {
+        return perIssuer.getOrDefault(issuer, 0);
+    }
+
+    /**
+     * @return A point in time copy of the commands currently in flight, oldest first
+     */
+    public List<PendingCommand> getPending() {
+        List<PendingCommand> snapshot = new ArrayList<>(pending);
+        snapshot.sort((a, b) -> Long.compare(a.startedAt, b.startedAt));
+        return Collections.unmodifiableList(snapshot);
+    }
+
+    /**
+     * Cancels every command the issuer has in flight.
+     *
+     * @return How many commands were cancelled
+     */
+    public int cancel(@NotNull UUID issuer) {
+        int cancelled = 0;
+        for (PendingCommand command : pending) {
+            if (command.issuerId.equals(issuer) && command.cancel()) {
+                cancelled++;
+            }
+        }
+        return cancelled;
+    }
+
+    /**
+     * Cancels every command in flight.
+     *
+     * @return How many commands were cancelled
+     */
+    public int cancelAll() {
+        int cancelled = 0;
+        for (PendingCommand command : pending) {
+            if (command.cancel()) {
+                cancelled++;
+            }
+        }
+        return cancelled;
+    }
+
+    /**
+     * Reserves a slot for a command about to go async.
+     *
+     * @return The tracked command, or null if the issuer or the manager is over its limit
+     */
+    @Nullable
+    PendingCommand begin(CommandIssuer issuer, RegisteredCommand<?> command, String commandLabel) {
+        final int max = this.maxInFlight;
+        int current;
+        do {
+            current = inFlight.get();
+            if (max > 0 && current >= max) {
+                return null;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+
+        final UUID issuerId = issuer.getUniqueId();
+        final int maxPerIssuer = this.maxInFlightPerIssuer;
+        boolean[] allowed = {true};
+        perIssuer.compute(issuerId, (id, count) -> {
+            int c = count == null ? 0 : count;
+            if (maxPerIssuer > 0 && c >= maxPerIssuer) {
+                allowed[0] = false;
+                return count;
+            }
+            return c + 1;
+        });
+        if (!allowed[0]) {
+            inFlight.decrementAndGet();
+            return null;
+        }
+
+        PendingCommand pendingCommand = new PendingCommand(issuer, issuerId, command, commandLabel);
+        pending.add(pendingCommand);
+        return pendingCommand;
+    }
+
+    private void finish(PendingCommand command) {
+        pending.remove(command);
+        inFlight.decrementAndGet();
+        perIssuer.computeIfPresent(command.issuerId, (id, count) -> count <= 1 ? null : count - 1);
+        ScheduledFuture<?> timeoutTask = command.timeoutTask;
+        if (timeoutTask != null) {
+            timeoutTask.cancel(false);
+        }
+    }
+
+    /**
+     * Stops the thread timing out pending commands, called by the platform managers when their plugin is disabled or
+     * their commands are unregistered. It is started again if a command needs it afterwards.
+     */
+    void shutdown() {
+        ScheduledExecutorService timer;
+        synchronized (this) {
+            timer = this.timer;
+            this.timer = null;
+        }
+        if (timer != null) {
+            timer.shutdownNow();
+        }
+    }
+
+    private ScheduledExecutorService getTimer() {
+        ScheduledExecutorService timer = this.timer;
+        if (timer == null) {
+            synchronized (this) {
+                timer = this.timer;
+                if (timer == null) {
+                    ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+                        Thread thread = new Thread(runnable, "ACF Command Timeouts");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    executor.setRemoveOnCancelPolicy(true);
+                    this.timer = timer = executor;
+                }
+            }
+        }
+        return timer;
+    }
+
+    /**
+     * A command that is still running after its method returned.
+     */
+    public final class PendingCommand {
+        private final CommandIssuer issuer;
+        private final UUID issuerId;
+        private final RegisteredCommand<?> command;
+        private final String commandLabel;
+        private final long startedAt = System.currentTimeMillis();
+        private final AtomicBoolean done = new AtomicBoolean();
+        private volatile boolean cancelled;
+        private volatile CompletionStage<?> stage;
+        private volatile ScheduledFuture<?> timeoutTask;
+
+        private PendingCommand(CommandIssuer issuer, UUID issuerId, RegisteredCommand<?> command, String commandLabel) {
+            this.issuer = issuer;
+            this.issuerId = issuerId;
+            this.command = command;
+            this.commandLabel = commandLabel;
+        }
+
+        public UUID getIssuerId() {
+            return issuerId;
+        }
+
+        public RegisteredCommand<?> getCommand() {
+            return command;
+        }
+
+        public String getCommandLabel() {
+            return commandLabel;
+        }
+
+        /**
+         * @return When the command was started, in epoch milliseconds
+         */
+        public long getStartedAt() {
+            return startedAt;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Cancels the stage returned by the command, if any, and releases its slot.
+         * A command body still running on an async thread is not interrupted.
+         *
+         * @return false if the command had already completed
+         */
+        public boolean cancel() {
+            if (!complete()) {
+                return false;
+            }
+            cancelled = true;
+            CompletionStage<?> stage = this.stage;
+            if (stage != null) {
+                try {
+                    stage.toCompletableFuture().cancel(true);
+                } catch (UnsupportedOperationException ignored) {
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Follows the stage returned by the command, starting its timeout.
+         */
+        void track(CompletionStage<?> stage, long timeoutMillis) {
+            this.stage = stage;
+            if (timeoutMillis < 0) {
+                timeoutMillis = defaultTimeoutMillis;
+            }
+            if (timeoutMillis > 0 && !done.get()) {
+                timeoutTask = getTimer().schedule(this::timeout, timeoutMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        private void timeout() {
+            if (cancel()) {
+                manager.getMainThreadExecutor().execute(() -> issuer.sendMessage(MessageType.ERROR, MessageKeys.COMMAND_TIMED_OUT));
+            }
+        }
+
+        /**
+         * Releases the slot of this command.
+         *
+         * @return false if it was already released
+         */
+        boolean complete() {
+            if (!done.compareAndSet(false, true)) {
+                return false;
+            }
+            finish(this);
+            return true;
+        }
+    }
+}
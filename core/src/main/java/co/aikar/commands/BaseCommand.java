@@ -87,6 +87,14 @@ public abstract class BaseCommand {
      * A map of all the registered commands for this base command, keyed to each potential subcommand to access it.
      */
     final SetMultimap<String, RegisteredCommand> subCommands = HashMultimap.create();
+    /**
+     * Bumped whenever {@link #subCommands} changes, so that {@link #completionIndex} is rebuilt
+     */
+    private volatile int subCommandsVersion = 0;
+    /**
+     * Sorted view of {@link #subCommands} for tab completion, rebuilt when subcommands are added
+     */
+    private volatile SubcommandCompletionIndex completionIndex;
     final Set<BaseCommand> subScopes = new HashSet<>();
 
     /**
@@ -99,22 +107,7 @@ public abstract class BaseCommand {
      */
     @Nullable
     private Method preCommandHandler;
-
-    /**
-     * What root command the user actually entered to access the currently executing command
-     */
-    @SuppressWarnings("WeakerAccess")
-    private String execLabel;
-    /**
-     * What subcommand the user actually entered to access the currently executing command
-     */
-    @SuppressWarnings("WeakerAccess")
-    private String execSubcommand;
-    /**
-     * What arguments the user actually entered after the root command to access the currently executing command
-     */
-    @SuppressWarnings("WeakerAccess")
-    private String[] origArgs;
+    private CommandInvoker preCommandInvoker;
 
     /**
      * The manager this is registered to
@@ -143,6 +136,7 @@ public abstract class BaseCommand {
      * The conditions of the command. This may be null if no conditions has been provided.
      */
     @Nullable String conditions;
+    CommandConditions.ConditionChain conditionChain;
     /**
      * Identifies if the command has an explicit help command annotated with {@link HelpCommand}
      */
@@ -197,7 +191,8 @@ public abstract class BaseCommand {
      * @return Name
      */
     public String getExecCommandLabel() {
-        return execLabel;
+        CommandOperationContext context = getExecutingContext();
+        return context != null ? context.getCommandLabel() : null;
     }
 
     /**
@@ -206,7 +201,8 @@ public abstract class BaseCommand {
      * @return Name
      */
     public String getExecSubcommand() {
-        return execSubcommand;
+        CommandOperationContext context = getExecutingContext();
+        return context != null ? context.getSubcommand() : null;
     }
 
     /**
@@ -215,7 +211,27 @@ public abstract class BaseCommand {
      * @return Args
      */
     public String[] getOrigArgs() {
-        return origArgs;
+        CommandOperationContext context = getExecutingContext();
+        return context != null ? context.getArgs() : new String[]{};
+    }
+
+    /**
+     * Finds the innermost operation running against this command on the current thread.
+     * All per invocation state lives on the {@link CommandOperationContext}, so the same command instance
+     * may be executed or tab completed from several threads at once.
+     *
+     * @return The context, or null if this command is not executing on this thread
+     */
+    @Nullable
+    private CommandOperationContext getExecutingContext() {
+        Stack<CommandOperationContext> contexts = CommandManager.commandOperationContext.get();
+        for (int i = contexts.size() - 1; i >= 0; i--) {
+            CommandOperationContext context = contexts.get(i);
+            if (context.getCommand() == this) {
+                return context;
+            }
+        }
+        return null;
     }
 
     /**
@@ -298,6 +314,7 @@ public abstract class BaseCommand {
                         this.subScopes.add(subScope);
                         subScope.onRegister(manager, cmd);
                         this.subCommands.putAll(subScope.subCommands);
+                        this.subCommandsVersion++;
                         this.registeredCommands.putAll(subScope.registeredCommands);
                     } else {
                         this.manager.log(LogLevel.ERROR, "Could not find a subcommand ctor for " + clazz.getName());
@@ -362,6 +379,7 @@ public abstract class BaseCommand {
             } else if (preCommand) {
                 if (this.preCommandHandler == null) {
                     this.preCommandHandler = method;
+                    this.preCommandInvoker = CommandInvoker.of(method);
                 } else {
                     ACFUtil.sneaky(new IllegalStateException("Multiple @PreCommand commands, duplicate on " + method.getDeclaringClass().getName() + "#" + method.getName()));
                 }
@@ -459,6 +477,7 @@ public abstract class BaseCommand {
         for (String subcmd : cmdList) {
             subCommands.put(subcmd, cmd);
         }
+        this.subCommandsVersion++;
         cmd.addSubcommands(cmdList);
 
         if (aliasNames != null) {
@@ -507,9 +526,13 @@ public abstract class BaseCommand {
     }
 
     void execute(CommandIssuer issuer, CommandRouter.CommandRouteResult command) {
+        RegisteredCommand cmd = command.cmd;
+        if (cmd.cooldown != null && cmd.hasPermission(issuer) && !manager.getCommandCooldowns().tryAcquire(issuer, cmd)) {
+            return;
+        }
         try {
             CommandOperationContext commandContext = preCommandOperation(issuer, command.commandLabel, command.args, false);
-            execSubcommand = command.subcommand;
+            commandContext.setSubcommand(command.subcommand);
             executeCommand(commandContext, issuer, command.args, command.cmd);
         } finally {
             postCommandOperation();
@@ -521,9 +544,6 @@ public abstract class BaseCommand {
      */
     private void postCommandOperation() {
         CommandManager.commandOperationContext.get().pop();
-        execSubcommand = null;
-        execLabel = null;
-        origArgs = new String[]{};
     }
 
     /**
@@ -542,9 +562,6 @@ public abstract class BaseCommand {
         CommandOperationContext context = this.manager.createCommandOperationContext(this, issuer, commandLabel, args, isAsync);
         contexts.push(context);
         lastCommandOperationContext.set(context);
-        execSubcommand = null;
-        execLabel = commandLabel;
-        origArgs = args;
         return context;
     }
 
@@ -573,7 +590,7 @@ public abstract class BaseCommand {
             if (checkPrecommand(commandOperationContext, cmd, issuer, args)) {
                 return;
             }
-            List<String> sargs = Arrays.asList(args);
+            List<String> sargs = new ArgumentList(args);
             cmd.invoke(issuer, sargs, commandOperationContext);
         } else {
             issuer.sendMessage(MessageType.ERROR, MessageKeys.PERMISSION_DENIED);
@@ -660,19 +677,17 @@ public abstract class BaseCommand {
         final Set<String> cmds = new HashSet<>();
         final int cmdIndex = Math.max(0, args.length - 1);
         String argString = ApacheCommonsLangUtil.join(args, " ").toLowerCase(Locale.ENGLISH);
-        for (Map.Entry<String, RegisteredCommand> entry : subCommands.entries()) {
-            final String key = entry.getKey();
-            if (key.startsWith(argString) && !isSpecialSubcommand(key)) {
-                final RegisteredCommand value = entry.getValue();
-                if (!value.hasPermission(issuer) || value.isPrivate) {
-                    continue;
-                }
+        getCompletionIndex().complete(issuer, argString, cmdIndex, cmds);
+        return new ArrayList<>(cmds);
+    }
 
-                String[] split = ACFPatterns.SPACE.split(value.prefSubCommand);
-                cmds.add(split[cmdIndex]);
-            }
+    private SubcommandCompletionIndex getCompletionIndex() {
+        final int version = this.subCommandsVersion;
+        SubcommandCompletionIndex index = this.completionIndex;
+        if (index == null || !index.isCurrent(version)) {
+            this.completionIndex = index = SubcommandCompletionIndex.build(subCommands, version);
         }
-        return new ArrayList<>(cmds);
+        return index;
     }
 
     static boolean isSpecialSubcommand(String key) {
@@ -748,7 +763,7 @@ public abstract class BaseCommand {
                     }
                 }
 
-                return (boolean) pre.invoke(this, parameters);
+                return (boolean) this.preCommandInvoker.invoke(this, parameters);
             } catch (IllegalAccessException | InvocationTargetException e) {
                 this.manager.log(LogLevel.ERROR, "Exception encountered while command pre-processing", e);
             }
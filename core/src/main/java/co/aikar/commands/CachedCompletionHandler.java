@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2016-2020 Daniel Ennis (Aikar) - MIT License
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining
+ *  a copy of this software and associated documentation files (the
+ *  "Software"), to deal in the Software without restriction, including
+ *  without limitation the rights to use, copy, modify, merge, publish,
+ *  distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to
+ *  the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be
+ *  included in all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *  EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *  MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *  NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ *  LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ *  OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ *  WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package co.aikar.commands;
+
+import co.aikar.commands.CommandCompletions.AsyncCommandCompletionHandler;
+import co.aikar.commands.CommandCompletions.CommandCompletionHandler;
+import net.jodah.expiringmap.ExpirationPolicy;
+import net.jodah.expiringmap.ExpiringMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Wraps a completion handler and reuses its results according to a {@link CompletionCachePolicy}.
+ */
+class CachedCompletionHandler<C extends CommandCompletionContext> implements CommandCompletionHandler<C> {
+    private final CommandCompletionHandler<C> handler;
+    private final boolean perIssuer;
+    private final Map<List<Object>, Collection<String>> cache;
+
+    private CachedCompletionHandler(CompletionCachePolicy policy, CommandCompletionHandler<C> handler) {
+        this.handler = handler;
+        this.perIssuer = policy.isPerIssuer();
+        this.cache = ExpiringMap.builder()
+                .maxSize(policy.getMaxSize())
+                .expiration(policy.getExpiration(), policy.getUnit())
+                .expirationPolicy(ExpirationPolicy.CREATED)
+                .build();
+    }
+
+    static <C extends CommandCompletionContext> CachedCompletionHandler<C> of(CompletionCachePolicy policy, CommandCompletionHandler<C> handler) {
+        if (handler instanceof AsyncCommandCompletionHandler) {
+            return new Async<>(policy, handler);
+        }
+        return new CachedCompletionHandler<>(policy, handler);
+    }
+
+    @Override
+    public Collection<String> getCompletions(C context) throws InvalidCommandArgument {
+        List<Object> key = Arrays.asList(context.getConfigs(), perIssuer ? context.getIssuer().getUniqueId() : null);
+        Collection<String> completions = cache.get(key);
+        if (completions == null) {
+            completions = handler.getCompletions(context);
+            if (completions == null) {
+                return null;
+            }
+            if (!(completions instanceof CompletionIndex)) {
+                completions = Collections.unmodifiableList(new ArrayList<>(completions));
+            }
+            cache.put(key, completions);
+        }
+        return completions;
+    }
+
+    void invalidate() {
+        cache.clear();
+    }
+
+    private static class Async<C extends CommandCompletionContext> extends CachedCompletionHandler<C> implements AsyncCommandCompletionHandler<C> {
+        private Async(CompletionCachePolicy policy, CommandCompletionHandler<C> handler) {
+            super(policy, handler);
+        }
+    }
+}
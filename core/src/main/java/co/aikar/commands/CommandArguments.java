@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2016-2020 Daniel Ennis (Aikar) - MIT License
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining
+ *  a copy of this software and associated documentation files (the
+ *  "Software"), to deal in the Software without restriction, including
+ *  without limitation the rights to use, copy, modify, merge, publish,
+ *  distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to
+ *  the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be
+ *  included in all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *  EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *  MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *  NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ *  LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ *  OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ *  WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+
+package co.aikar.commands;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * The arguments of a raw command line, split by the one tokenizer shared by every platform entry point.
+ * <p>
+ * Splitting follows {@code ACFPatterns.SPACE.split(buffer, -1)}: every single space is a separator, so repeated or
+ * trailing spaces yield empty tokens, which tab completion relies upon.
+ * <p>
+ * When quoted arguments are enabled, a token starting with {@code "} runs until the next {@code "} that is followed
+ * by a space or the end of the buffer, and the surrounding quotes are dropped. An unterminated quote is treated as a
+ * regular character.
+ * <p>
+ * Instances are immutable. The tokens are split eagerly into an array, so the entry points still receive copies of
+ * them; the point of this class is that every platform splits command lines the same way.
+ */
+public final class CommandArguments {
+    private final String[] tokens;
+    private final int size;
+
+    private CommandArguments(String[] tokens, int size) {
+        this.tokens = tokens;
+        this.size = size;
+    }
+
+    /**
+     * Tokenizes the entire buffer without quote handling.
+     *
+     * @param buffer The raw command line
+     * @return The tokenized arguments
+     */
+    public static CommandArguments tokenize(@NotNull String buffer) {
+        return tokenize(buffer, 0, false);
+    }
+
+    /**
+     * Tokenizes the buffer starting at the given offset, for example to skip a command prefix or leading slash.
+     *
+     * @param buffer The raw command line
+     * @param start  The offset of the first token
+     * @param quoted Whether double quoted tokens may contain spaces
+     * @return The tokenized arguments
+     */
+    public static CommandArguments tokenize(@NotNull String buffer, int start, boolean quoted) {
+        if (start < 0 || start > buffer.length()) {
+            throw new IndexOutOfBoundsException("start " + start + " is outside of the buffer");
+        }
+        final int length = buffer.length();
+        String[] tokens = new String[4];
+        int size = 0;
+        int pos = start;
+        while (true) {
+            String token = null;
+            if (quoted && pos < length && buffer.charAt(pos) == '"') {
+                int close = pos;
+                while ((close = buffer.indexOf('"', close + 1)) != -1) {
+                    if (close + 1 == length || buffer.charAt(close + 1) == ' ') {
+                        token = buffer.substring(pos + 1, close);
+                        pos = close + 1;
+                        break;
+                    }
+                }
+            }
+            if (token == null) {
+                int space = buffer.indexOf(' ', pos);
+                int end = space == -1 ? length : space;
+                token = buffer.substring(pos, end);
+                pos = end;
+            }
+            if (size == tokens.length) {
+                tokens = Arrays.copyOf(tokens, size * 2);
+            }
+            tokens[size++] = token;
+            if (pos >= length) {
+                return new CommandArguments(tokens, size);
+            }
+            // pos is on the separating space
+            pos++;
+        }
+    }
+
+    /**
+     * Wraps already split arguments, for callers that do not have the raw buffer anymore.
+     *
+     * @param args The arguments
+     * @return The arguments
+     */
+    public static CommandArguments of(@NotNull String... args) {
+        return new CommandArguments(args.clone(), args.length);
+    }
+
+    /**
+     * Drops any trailing empty tokens, matching {@link String#split(String)} without a limit.
+     *
+     * @return The arguments without trailing empty tokens, or this if there were none
+     */
+    public CommandArguments trimTrailingEmpty() {
+        int size = this.size;
+        while (size > 0 && tokens[size - 1].isEmpty()) {
+            size--;
+        }
+        return size == this.size ? this : new CommandArguments(tokens, size);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public String get(int index) {
+        checkIndex(index);
+        return tokens[index];
+    }
+
+    /**
+     * Copies the tokens from the given index onwards, as expected by the {@link RootCommand} entry points.
+     *
+     * @param from The first token to include
+     * @return A new array of the remaining tokens
+     */
+    public String[] toArray(int from) {
+        if (from < 0 || from > size) {
+            throw new IndexOutOfBoundsException("from " + from + " is outside of 0.." + size);
+        }
+        return Arrays.copyOfRange(tokens, from, size);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CommandArguments" + Arrays.toString(toArray(0));
+    }
+}
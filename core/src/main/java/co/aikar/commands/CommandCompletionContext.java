@@ -23,7 +23,6 @@
 
 package co.aikar.commands;
 
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
@@ -52,7 +51,7 @@ public class CommandCompletionContext<I extends CommandIssuer> {
             this.config = null;
         }
 
-        this.args = Arrays.asList(args);
+        this.args = new ArgumentList(args);
     }
 
     public Map<String, String> getConfigs() {
@@ -46,6 +46,11 @@ public class CommandCompletions<C extends CommandCompletionContext> {
     // TODO: use a CompletionProvider that can return a delegated Id or provide values such as enum support
     private Map<String, CommandCompletionHandler> completionMap = new HashMap<>();
     private Map<Class, String> defaultCompletions = new HashMap<>();
+    private final TypeLookupCache<String> defaultCompletionLookup = new TypeLookupCache<>(this::lookupDefaultCompletion);
+    /**
+     * Bumped whenever a completion is registered, so values compiled against the registered completions know to recompile
+     */
+    volatile int epoch = 0;
 
     public CommandCompletions(CommandManager manager) {
         this.manager = manager;
@@ -79,7 +84,7 @@ public class CommandCompletions<C extends CommandCompletionContext> {
      * @return
      */
     public CommandCompletionHandler registerCompletion(String id, CommandCompletionHandler<C> handler) {
-        return this.completionMap.put(prepareCompletionId(id), handler);
+        return putCompletion(id, handler);
     }
 
     /**
@@ -98,7 +103,50 @@ public class CommandCompletions<C extends CommandCompletionContext> {
      * @return
      */
     public CommandCompletionHandler registerAsyncCompletion(String id, AsyncCommandCompletionHandler<C> handler) {
-        return this.completionMap.put(prepareCompletionId(id), handler);
+        return putCompletion(id, handler);
+    }
+
+    /**
+     * Register a completion handler whose results are reused for a while instead of being recomputed on every keypress,
+     * for handlers that are expensive to call, such as lists loaded from a database.
+     * <p>
+     * The handler keeps its sync or async nature. Use {@link #invalidateCompletion(String)} when the underlying data changes.
+     *
+     * @param id
+     * @param policy
+     * @param handler
+     * @return
+     */
+    public CommandCompletionHandler registerCachedCompletion(String id, CompletionCachePolicy policy, CommandCompletionHandler<C> handler) {
+        return putCompletion(id, CachedCompletionHandler.of(policy, handler));
+    }
+
+    private CommandCompletionHandler putCompletion(String id, CommandCompletionHandler<C> handler) {
+        CommandCompletionHandler previous = this.completionMap.put(prepareCompletionId(id), handler);
+        this.epoch++;
+        return previous;
+    }
+
+    /**
+     * @return Whether the part of a completion before any config, such as @players, names a registered completion
+     */
+    boolean isCompletionHandler(String id) {
+        return this.completionMap.containsKey(id.toLowerCase(Locale.ENGLISH));
+    }
+
+    /**
+     * Drops all cached results of a completion registered with {@link #registerCachedCompletion(String, CompletionCachePolicy, CommandCompletionHandler)}.
+     *
+     * @param id
+     * @return Whether the completion exists and was cached
+     */
+    public boolean invalidateCompletion(String id) {
+        CommandCompletionHandler handler = this.completionMap.get(prepareCompletionId(id));
+        if (handler instanceof CachedCompletionHandler) {
+            ((CachedCompletionHandler) handler).invalidate();
+            return true;
+        }
+        return false;
     }
 
     /**
@@ -139,14 +187,16 @@ public class CommandCompletions<C extends CommandCompletionContext> {
     }
 
     /**
-     * Register a static list of command completions that will never change
+     * Register a static list of command completions that will never change.
+     * The completions are stored as a {@link CompletionIndex}, so they are offered sorted and without duplicates.
      *
      * @param id
      * @param completions
      * @return
      */
     public CommandCompletionHandler registerStaticCompletion(String id, Collection<String> completions) {
-        return registerAsyncCompletion(id, x -> completions);
+        CompletionIndex index = CompletionIndex.of(completions);
+        return registerAsyncCompletion(id, x -> index);
     }
 
     /**
@@ -170,6 +220,7 @@ public class CommandCompletions<C extends CommandCompletionContext> {
         for (Class clazz : classes) {
             defaultCompletions.put(clazz, id);
         }
+        defaultCompletionLookup.invalidate();
     }
 
     @NotNull
@@ -202,25 +253,21 @@ public class CommandCompletions<C extends CommandCompletionContext> {
             return Collections.singletonList(input);
         }
 
-        return getCompletionValues(cmd, sender, completion, args, isAsync);
+        return getCompletionValues(cmd, sender, completion, args, isAsync, true);
     }
 
     String findDefaultCompletion(RegisteredCommand cmd, String[] args) {
         int i = 0;
         for (CommandParameter param : cmd.parameters) {
             if (param.canConsumeInput() && ++i == args.length) {
-                Class type = param.getType();
-                while (type != null) {
-                    String completion = this.defaultCompletions.get(type);
-                    if (completion != null) {
-                        return completion;
-                    }
-                    type = type.getSuperclass();
+                String completion = this.defaultCompletionLookup.get(param.getType());
+                if (completion != null) {
+                    return completion;
                 }
                 if (param.getType().isEnum()) {
                     CommandOperationContext ctx = CommandManager.getCurrentCommandOperationContext();
                     //noinspection unchecked
-                    ctx.enumCompletionValues = ACFUtil.enumNames((Class<? extends Enum<?>>) param.getType());
+                    ctx.enumCompletionValues = manager.getEnumLookup((Class<? extends Enum<?>>) param.getType()).getNames();
                     return DEFAULT_ENUM_ID;
                 }
                 break;
@@ -229,7 +276,26 @@ public class CommandCompletions<C extends CommandCompletionContext> {
         return null;
     }
 
+    private String lookupDefaultCompletion(Class<?> type) {
+        while (type != null) {
+            String completion = this.defaultCompletions.get(type);
+            if (completion != null) {
+                return completion;
+            }
+            type = type.getSuperclass();
+        }
+        return null;
+    }
+
     List<String> getCompletionValues(RegisteredCommand command, CommandIssuer sender, String completion, String[] args, boolean isAsync) {
+        return getCompletionValues(command, sender, completion, args, isAsync, false);
+    }
+
+    /**
+     * @param filterIndexed Whether completions returned as a {@link CompletionIndex} may be narrowed down to those
+     *                      starting with the input already, as they will be filtered by it afterwards anyway
+     */
+    private List<String> getCompletionValues(RegisteredCommand command, CommandIssuer sender, String completion, String[] args, boolean isAsync, boolean filterIndexed) {
         if (DEFAULT_ENUM_ID.equals(completion)) {
             CommandOperationContext<?> ctx = CommandManager.getCurrentCommandOperationContext();
             return ctx.enumCompletionValues;
@@ -272,6 +338,8 @@ public class CommandCompletions<C extends CommandCompletionContext> {
                                         return s;
                                     }
                                 }).collect(Collectors.toList());
+                    } else if (filterIndexed && completions instanceof CompletionIndex) {
+                        completions = ((CompletionIndex) completions).startingWith(input);
                     }
 
                     if (completions != null) {
@@ -39,72 +39,144 @@ public class CommandConditions <
     private CommandManager manager;
     private Map<String, Condition<I>> conditions = new HashMap<>();
     private Table<Class<?>, String, ParameterCondition<?, ?, ?>> paramConditions = new Table<>();
+    private volatile int epoch = 0;
 
     CommandConditions(CommandManager manager) {
         this.manager = manager;
     }
 
     public Condition<I> addCondition(@NotNull String id, @NotNull Condition<I> handler) {
-        return this.conditions.put(id.toLowerCase(Locale.ENGLISH), handler);
+        Condition<I> previous = this.conditions.put(id.toLowerCase(Locale.ENGLISH), handler);
+        invalidate();
+        return previous;
     }
 
     public <P> ParameterCondition addCondition(Class<P> clazz, @NotNull String id,
                                                @NotNull ParameterCondition<P, CEC, I> handler) {
-        return this.paramConditions.put(clazz, id.toLowerCase(Locale.ENGLISH), handler);
+        ParameterCondition previous = this.paramConditions.put(clazz, id.toLowerCase(Locale.ENGLISH), handler);
+        invalidate();
+        return previous;
+    }
+
+    /**
+     * Marks every compiled condition chain as stale, so they are linked again against the current handlers and
+     * replacements the next time they are validated.
+     */
+    void invalidate() {
+        this.epoch++;
     }
 
     void validateConditions(CommandOperationContext context) throws InvalidCommandArgument {
         RegisteredCommand cmd = context.getRegisteredCommand();
 
-        validateConditions(cmd.conditions, context);
+        ConditionChain chain = cmd.conditionChain;
+        if (chain == null || chain.epoch != this.epoch) {
+            chain = cmd.conditionChain = compile(cmd.conditions, null);
+        }
+        validateConditions(chain, context);
         validateConditions(cmd.scope, context);
     }
 
     private void validateConditions(BaseCommand scope, CommandOperationContext operationContext) throws InvalidCommandArgument {
-        validateConditions(scope.conditions, operationContext);
+        ConditionChain chain = scope.conditionChain;
+        if (chain == null || chain.epoch != this.epoch) {
+            chain = scope.conditionChain = compile(scope.conditions, null);
+        }
+        validateConditions(chain, operationContext);
 
         if (scope.parentCommand != null) {
             validateConditions(scope.parentCommand, operationContext);
         }
     }
 
-    private void validateConditions(String conditions, CommandOperationContext context) throws InvalidCommandArgument {
-        if (conditions == null) {
+    private void validateConditions(ConditionChain chain, CommandOperationContext context) throws InvalidCommandArgument {
+        if (chain.handlers.length == 0) {
             return;
         }
 
-        conditions = this.manager.getCommandReplacements().replace(conditions);
         CommandIssuer issuer = context.getCommandIssuer();
-        for (String cond : ACFPatterns.PIPE.split(conditions)) {
-            String[] split = ACFPatterns.COLON.split(cond, 2);
-            String id = split[0].toLowerCase(Locale.ENGLISH);
-            Condition<I> condition = this.conditions.get(id);
+        for (int i = 0; i < chain.handlers.length; i++) {
+            //noinspection unchecked
+            Condition<I> condition = (Condition<I>) chain.handlers[i];
             if (condition == null) {
                 RegisteredCommand cmd = context.getRegisteredCommand();
-                this.manager.log(LogLevel.ERROR, "Could not find command condition " + id + " for " + cmd.method.getName());
+                this.manager.log(LogLevel.ERROR, "Could not find command condition " + chain.ids[i] + " for " + cmd.method.getName());
                 continue;
             }
 
-            String config = split.length == 2 ? split[1] : null;
             //noinspection unchecked
-            CC conditionContext = (CC) this.manager.createConditionContext(issuer, config);
+            CC conditionContext = (CC) this.manager.createConditionContext(issuer, chain.configs[i]);
             //noinspection unchecked
             condition.validateCondition(conditionContext);
         }
     }
 
+    /**
+     * Validates the conditions of a parameter resolved without boxing, only boxing the value if there are any.
+     */
+    void validateConditions(CEC execContext, ArgumentFrame frame, int index) throws InvalidCommandArgument {
+        CommandParameter parameter = execContext.getCommandParameter();
+        ConditionChain chain = parameter.conditionChain;
+        if (chain != null && chain.epoch == this.epoch && chain.handlers.length == 0) {
+            return;
+        }
+        validateConditions(execContext, frame.getObject(index));
+    }
+
     void validateConditions(CEC execContext, Object value) throws InvalidCommandArgument {
-        String conditions = execContext.getCommandParameter().getConditions();
-        if (conditions == null) {
+        CommandParameter parameter = execContext.getCommandParameter();
+        ConditionChain chain = parameter.conditionChain;
+        if (chain == null || chain.epoch != this.epoch) {
+            chain = parameter.conditionChain = compile(parameter.getConditions(), parameter.getType());
+        }
+        if (chain.handlers.length == 0) {
             return;
         }
-        conditions = this.manager.getCommandReplacements().replace(conditions);
+
         I issuer = execContext.getIssuer();
-        for (String cond : ACFPatterns.PIPE.split(conditions)) {
-            String[] split = ACFPatterns.COLON.split(cond, 2);
+        for (int i = 0; i < chain.handlers.length; i++) {
+            ParameterCondition condition = (ParameterCondition) chain.handlers[i];
+            if (condition == null) {
+                RegisteredCommand cmd = execContext.getCmd();
+                this.manager.log(LogLevel.ERROR, "Could not find command condition " + chain.ids[i] + " for " + cmd.method.getName() + "::" +execContext.getParam().getName());
+                continue;
+            }
+            //noinspection unchecked
+            CC conditionContext = (CC) this.manager.createConditionContext(issuer, chain.configs[i]);
+
+            //noinspection unchecked
+            condition.validateCondition(conditionContext, execContext, value);
+        }
+    }
+
+    /**
+     * Parses a conditions string and binds each entry to its handler.
+     *
+     * @param conditions The raw conditions, may be null
+     * @param paramType  The parameter type to bind parameter conditions for, or null for command conditions
+     */
+    private ConditionChain compile(String conditions, Class<?> paramType) {
+        final int epoch = this.epoch;
+        if (conditions == null) {
+            return new ConditionChain(epoch, new String[0], new Object[0], new String[0]);
+        }
+
+        conditions = this.manager.getCommandReplacements().replace(conditions);
+        String[] split = ACFPatterns.PIPE.split(conditions);
+        String[] ids = new String[split.length];
+        Object[] handlers = new Object[split.length];
+        String[] configs = new String[split.length];
+        for (int i = 0; i < split.length; i++) {
+            String[] cond = ACFPatterns.COLON.split(split[i], 2);
+            String id = ids[i] = cond[0].toLowerCase(Locale.ENGLISH);
+            configs[i] = cond.length == 2 ? cond[1] : null;
+            if (paramType == null) {
+                handlers[i] = this.conditions.get(id);
+                continue;
+            }
+
             ParameterCondition condition;
-            Class<?> cls = execContext.getParam().getType();
-            String id = split[0].toLowerCase(Locale.ENGLISH);
+            Class<?> cls = paramType;
             do {
                 condition = this.paramConditions.get(cls, id);
                 if (condition == null && cls.getSuperclass() != null && cls.getSuperclass() != Object.class) {
@@ -113,19 +185,26 @@ public class CommandConditions <
                     break;
                 }
             } while (cls != null);
+            handlers[i] = condition;
+        }
+        return new ConditionChain(epoch, ids, handlers, configs);
+    }
 
-
-            if (condition == null) {
-                RegisteredCommand cmd = execContext.getCmd();
-                this.manager.log(LogLevel.ERROR, "Could not find command condition " + id + " for " + cmd.method.getName() + "::" +execContext.getParam().getName());
-                continue;
-            }
-            String config = split.length == 2 ? split[1] : null;
-            //noinspection unchecked
-            CC conditionContext = (CC) this.manager.createConditionContext(issuer, config);
-
-            //noinspection unchecked
-            condition.validateCondition(conditionContext, execContext, value);
+    /**
+     * A conditions string split into its entries, each bound to the handler registered for its id at the time.
+     * A handler is null if no condition was registered with that id.
+     */
+    static final class ConditionChain {
+        private final int epoch;
+        private final String[] ids;
+        private final Object[] handlers;
+        private final String[] configs;
+
+        private ConditionChain(int epoch, String[] ids, Object[] handlers, String[] configs) {
+            this.epoch = epoch;
+            this.ids = ids;
+            this.handlers = handlers;
+            this.configs = configs;
         }
     }
 
@@ -26,21 +26,32 @@ package co.aikar.commands;
 import co.aikar.commands.annotation.Single;
 import co.aikar.commands.annotation.Split;
 import co.aikar.commands.annotation.Values;
+import co.aikar.commands.contexts.BooleanContextResolver;
 import co.aikar.commands.contexts.ContextResolver;
+import co.aikar.commands.contexts.DoubleContextResolver;
+import co.aikar.commands.contexts.IntContextResolver;
 import co.aikar.commands.contexts.IssuerAwareContextResolver;
 import co.aikar.commands.contexts.IssuerOnlyContextResolver;
+import co.aikar.commands.contexts.LongContextResolver;
 import co.aikar.commands.contexts.OptionalContextResolver;
-import org.jetbrains.annotations.NotNull;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 @SuppressWarnings("WeakerAccess")
 public class CommandContexts<R extends CommandExecutionContext<?, ? extends CommandIssuer>> {
-    protected final Map<Class<?>, ContextResolver<?, R>> contextMap = new HashMap<>();
+    private final TypeLookupCache<ContextResolver<?, R>> resolvers = new TypeLookupCache<>(this::findResolver);
+    /**
+     * The registered resolvers by exact type. Prefer the register methods, but writing to this map directly still
+     * works: its own mutators invalidate the cached lookups. Changes made through its key, value or entry views are
+     * not seen by lookups that were cached before.
+     */
+    protected final Map<Class<?>, ContextResolver<?, R>> contextMap = new ResolverMap();
     protected final CommandManager manager;
 
     CommandContexts(CommandManager manager) {
@@ -49,7 +60,7 @@ public class CommandContexts<R extends CommandExecutionContext<?, ? extends Comm
         registerContext(Short.class, (c) -> {
             String number = c.popFirstArg();
             try {
-                return parseAndValidateNumber(number, c, Short.MIN_VALUE, Short.MAX_VALUE).shortValue();
+                return (short) parseAndValidateNumber(number, c, Short.MIN_VALUE, Short.MAX_VALUE);
             } catch (NumberFormatException e) {
                 throw new InvalidCommandArgument(MessageKeys.MUST_BE_A_NUMBER, "{num}", number);
             }
@@ -57,47 +68,35 @@ public class CommandContexts<R extends CommandExecutionContext<?, ? extends Comm
         registerContext(short.class, (c) -> {
             String number = c.popFirstArg();
             try {
-                return parseAndValidateNumber(number, c, Short.MIN_VALUE, Short.MAX_VALUE).shortValue();
-            } catch (NumberFormatException e) {
-                throw new InvalidCommandArgument(MessageKeys.MUST_BE_A_NUMBER, "{num}", number);
-            }
-        });
-        registerContext(Integer.class, (c) -> {
-            String number = c.popFirstArg();
-            try {
-                return parseAndValidateNumber(number, c, Integer.MIN_VALUE, Integer.MAX_VALUE).intValue();
+                return (short) parseAndValidateNumber(number, c, Short.MIN_VALUE, Short.MAX_VALUE);
             } catch (NumberFormatException e) {
                 throw new InvalidCommandArgument(MessageKeys.MUST_BE_A_NUMBER, "{num}", number);
             }
         });
-        registerContext(int.class, (c) -> {
+        IntContextResolver<R> intResolver = (c) -> {
             String number = c.popFirstArg();
             try {
-                return parseAndValidateNumber(number, c, Integer.MIN_VALUE, Integer.MAX_VALUE).intValue();
+                return (int) parseAndValidateNumber(number, c, Integer.MIN_VALUE, Integer.MAX_VALUE);
             } catch (NumberFormatException e) {
                 throw new InvalidCommandArgument(MessageKeys.MUST_BE_A_NUMBER, "{num}", number);
             }
-        });
-        registerContext(Long.class, (c) -> {
-            String number = c.popFirstArg();
-            try {
-                return parseAndValidateNumber(number, c, Long.MIN_VALUE, Long.MAX_VALUE).longValue();
-            } catch (NumberFormatException e) {
-                throw new InvalidCommandArgument(MessageKeys.MUST_BE_A_NUMBER, "{num}", number);
-            }
-        });
-        registerContext(long.class, (c) -> {
+        };
+        registerContext(Integer.class, intResolver);
+        registerIntContext(intResolver);
+        LongContextResolver<R> longResolver = (c) -> {
             String number = c.popFirstArg();
             try {
-                return parseAndValidateNumber(number, c, Long.MIN_VALUE, Long.MAX_VALUE).longValue();
+                return (long) parseAndValidateNumber(number, c, Long.MIN_VALUE, Long.MAX_VALUE);
             } catch (NumberFormatException e) {
                 throw new InvalidCommandArgument(MessageKeys.MUST_BE_A_NUMBER, "{num}", number);
             }
-        });
+        };
+        registerContext(Long.class, longResolver);
+        registerLongContext(longResolver);
         registerContext(Float.class, (c) -> {
             String number = c.popFirstArg();
             try {
-                return parseAndValidateNumber(number, c, -Float.MAX_VALUE, Float.MAX_VALUE).floatValue();
+                return (float) parseAndValidateNumber(number, c, -Float.MAX_VALUE, Float.MAX_VALUE);
             } catch (NumberFormatException e) {
                 throw new InvalidCommandArgument(MessageKeys.MUST_BE_A_NUMBER, "{num}", number);
             }
@@ -105,27 +104,21 @@ public class CommandContexts<R extends CommandExecutionContext<?, ? extends Comm
         registerContext(float.class, (c) -> {
             String number = c.popFirstArg();
             try {
-                return parseAndValidateNumber(number, c, -Float.MAX_VALUE, Float.MAX_VALUE).floatValue();
-            } catch (NumberFormatException e) {
-                throw new InvalidCommandArgument(MessageKeys.MUST_BE_A_NUMBER, "{num}", number);
-            }
-        });
-        registerContext(Double.class, (c) -> {
-            String number = c.popFirstArg();
-            try {
-                return parseAndValidateNumber(number, c, -Double.MAX_VALUE, Double.MAX_VALUE).doubleValue();
+                return (float) parseAndValidateNumber(number, c, -Float.MAX_VALUE, Float.MAX_VALUE);
             } catch (NumberFormatException e) {
                 throw new InvalidCommandArgument(MessageKeys.MUST_BE_A_NUMBER, "{num}", number);
             }
         });
-        registerContext(double.class, (c) -> {
+        DoubleContextResolver<R> doubleResolver = (c) -> {
             String number = c.popFirstArg();
             try {
-                return parseAndValidateNumber(number, c, -Double.MAX_VALUE, Double.MAX_VALUE).doubleValue();
+                return parseAndValidateNumber(number, c, -Double.MAX_VALUE, Double.MAX_VALUE);
             } catch (NumberFormatException e) {
                 throw new InvalidCommandArgument(MessageKeys.MUST_BE_A_NUMBER, "{num}", number);
             }
-        });
+        };
+        registerContext(Double.class, doubleResolver);
+        registerDoubleContext(doubleResolver);
         registerContext(Number.class, (c) -> {
             String number = c.popFirstArg();
             try {
@@ -137,8 +130,8 @@ public class CommandContexts<R extends CommandExecutionContext<?, ? extends Comm
         registerContext(BigDecimal.class, (c) -> {
             String numberStr = c.popFirstArg();
             try {
-                BigDecimal number = ACFUtil.parseBigNumber(numberStr, c.hasFlag("suffixes"));
-                validateMinMax(c, number);
+                BigDecimal number = ACFUtil.parseBigNumber(numberStr, c.getParameterFlags().hasSuffixes());
+                validateMinMax(c, number.doubleValue(), null, null);
                 return number;
             } catch (NumberFormatException e) {
                 throw new InvalidCommandArgument(MessageKeys.MUST_BE_A_NUMBER, "{num}", numberStr);
@@ -147,15 +140,16 @@ public class CommandContexts<R extends CommandExecutionContext<?, ? extends Comm
         registerContext(BigInteger.class, (c) -> {
             String numberStr = c.popFirstArg();
             try {
-                BigDecimal number = ACFUtil.parseBigNumber(numberStr, c.hasFlag("suffixes"));
-                validateMinMax(c, number);
+                BigDecimal number = ACFUtil.parseBigNumber(numberStr, c.getParameterFlags().hasSuffixes());
+                validateMinMax(c, number.doubleValue(), null, null);
                 return number.toBigIntegerExact();
             } catch (NumberFormatException e) {
                 throw new InvalidCommandArgument(MessageKeys.MUST_BE_A_NUMBER, "{num}", numberStr);
             }
         });
-        registerContext(Boolean.class, (c) -> ACFUtil.isTruthy(c.popFirstArg()));
-        registerContext(boolean.class, (c) -> ACFUtil.isTruthy(c.popFirstArg()));
+        BooleanContextResolver<R> booleanResolver = (c) -> ACFUtil.isTruthy(c.popFirstArg());
+        registerContext(Boolean.class, booleanResolver);
+        registerBooleanContext(booleanResolver);
         registerContext(char.class, c -> {
             String s = c.popFirstArg();
             if (s.length() > 1) {
@@ -173,17 +167,12 @@ public class CommandContexts<R extends CommandExecutionContext<?, ? extends Comm
                     :
                     c.popFirstArg();
 
-            Integer minLen = c.getFlagValue("minlen", (Integer) null);
-            Integer maxLen = c.getFlagValue("maxlen", (Integer) null);
-            if (minLen != null) {
-                if (ret.length() < minLen) {
-                    throw new InvalidCommandArgument(MessageKeys.MUST_BE_MIN_LENGTH, "{min}", String.valueOf(minLen));
-                }
+            ParameterFlags flags = c.getParameterFlags();
+            if (ret.length() < flags.getMinLength()) {
+                throw new InvalidCommandArgument(MessageKeys.MUST_BE_MIN_LENGTH, "{min}", String.valueOf(flags.getMinLength()));
             }
-            if (maxLen != null) {
-                if (ret.length() > maxLen) {
-                    throw new InvalidCommandArgument(MessageKeys.MUST_BE_MAX_LENGTH, "{max}", String.valueOf(maxLen));
-                }
+            if (ret.length() > flags.getMaxLength()) {
+                throw new InvalidCommandArgument(MessageKeys.MUST_BE_MAX_LENGTH, "{max}", String.valueOf(flags.getMaxLength()));
             }
 
             return ret;
@@ -215,9 +204,10 @@ public class CommandContexts<R extends CommandExecutionContext<?, ? extends Comm
             final String first = c.popFirstArg();
             //noinspection unchecked
             Class<? extends Enum<?>> enumCls = (Class<? extends Enum<?>>) c.getParam().getType();
-            Enum<?> match = ACFUtil.simpleMatch(enumCls, first);
+            EnumLookup lookup = manager.getEnumLookup(enumCls);
+            Enum<?> match = lookup.match(first);
             if (match == null) {
-                List<String> names = ACFUtil.enumNames(enumCls);
+                List<String> names = lookup.getNames();
                 throw new InvalidCommandArgument(MessageKeys.PLEASE_SPECIFY_ONE_OF, "{valid}", ACFUtil.join(names, ", "));
             }
             return match;
@@ -250,10 +240,7 @@ public class CommandContexts<R extends CommandExecutionContext<?, ? extends Comm
             }
             CommandHelp commandHelp = manager.generateCommandHelp();
             commandHelp.setPage(page);
-            Integer perPage = c.getFlagValue("perpage", (Integer) null);
-            if (perPage != null) {
-                commandHelp.setPerPage(perPage);
-            }
+            commandHelp.setPerPage(c.getParameterFlags().getPerPage(commandHelp.getPerPage()));
 
             // check if we have an exact match and should display the help page for that sub command instead
             if (search != null) {
@@ -268,29 +255,31 @@ public class CommandContexts<R extends CommandExecutionContext<?, ? extends Comm
         });
     }
 
-    @NotNull
-    private Number parseAndValidateNumber(String number, R c, Number minValue, Number maxValue) throws InvalidCommandArgument {
-        final Number val = ACFUtil.parseNumber(number, c.hasFlag("suffixes"));
+    private double parseAndValidateNumber(String number, R c, Number minValue, Number maxValue) throws InvalidCommandArgument {
+        final double val = ACFUtil.parseDecimal(number, c.getParameterFlags().hasSuffixes());
         validateMinMax(c, val, minValue, maxValue);
         return val;
     }
 
-    private void validateMinMax(R c, Number val) throws InvalidCommandArgument {
-        validateMinMax(c, val, null, null);
-    }
-
-    private void validateMinMax(R c, Number val, Number minValue, Number maxValue) throws InvalidCommandArgument {
-        minValue = c.getFlagValue("min", minValue);
-        maxValue = c.getFlagValue("max", maxValue);
-        if (maxValue != null && val.doubleValue() > maxValue.doubleValue()) {
-            throw new InvalidCommandArgument(MessageKeys.PLEASE_SPECIFY_AT_MOST, "{max}", String.valueOf(maxValue));
+    /**
+     * Compares the value as a double, but reports the type's own bounds as the {@link Number} they were given as,
+     * so an int overflow reads "2147483647" rather than "2.147483647E9". Bounds from the min/max flags are reported
+     * as doubles, as they always have been.
+     */
+    private void validateMinMax(R c, double val, Number minValue, Number maxValue) throws InvalidCommandArgument {
+        ParameterFlags flags = c.getParameterFlags();
+        double max = flags.getMax(Double.POSITIVE_INFINITY);
+        Number maxBound = max != Double.POSITIVE_INFINITY ? (Number) max : maxValue;
+        double min = flags.getMin(Double.NEGATIVE_INFINITY);
+        Number minBound = min != Double.NEGATIVE_INFINITY ? (Number) min : minValue;
+        if (maxBound != null && val > maxBound.doubleValue()) {
+            throw new InvalidCommandArgument(MessageKeys.PLEASE_SPECIFY_AT_MOST, "{max}", String.valueOf(maxBound));
         }
-        if (minValue != null && val.doubleValue() < minValue.doubleValue()) {
-            throw new InvalidCommandArgument(MessageKeys.PLEASE_SPECIFY_AT_LEAST, "{min}", String.valueOf(minValue));
+        if (minBound != null && val < minBound.doubleValue()) {
+            throw new InvalidCommandArgument(MessageKeys.PLEASE_SPECIFY_AT_LEAST, "{min}", String.valueOf(minBound));
         }
     }
 
-
     /**
      * @see #registerIssuerAwareContext(Class, IssuerAwareContextResolver)
      * @deprecated Please switch to {@link #registerIssuerAwareContext(Class, IssuerAwareContextResolver)}
@@ -298,7 +287,7 @@ public class CommandContexts<R extends CommandExecutionContext<?, ? extends Comm
      */
     @Deprecated
     public <T> void registerSenderAwareContext(Class<T> context, IssuerAwareContextResolver<T, R> supplier) {
-        contextMap.put(context, supplier);
+        putResolver(context, supplier);
     }
 
     /**
@@ -308,7 +297,7 @@ public class CommandContexts<R extends CommandExecutionContext<?, ? extends Comm
      * if you want to consume that input.
      */
     public <T> void registerIssuerAwareContext(Class<T> context, IssuerAwareContextResolver<T, R> supplier) {
-        contextMap.put(context, supplier);
+        putResolver(context, supplier);
     }
 
     /**
@@ -316,7 +305,7 @@ public class CommandContexts<R extends CommandExecutionContext<?, ? extends Comm
      * issuer of the command, so it will not appear in syntax strings.
      */
     public <T> void registerIssuerOnlyContext(Class<T> context, IssuerOnlyContextResolver<T, R> supplier) {
-        contextMap.put(context, supplier);
+        putResolver(context, supplier);
     }
 
     /**
@@ -324,7 +313,7 @@ public class CommandContexts<R extends CommandExecutionContext<?, ? extends Comm
      * call {@link CommandExecutionContext#popFirstArg()}
      */
     public <T> void registerOptionalContext(Class<T> context, OptionalContextResolver<T, R> supplier) {
-        contextMap.put(context, supplier);
+        putResolver(context, supplier);
     }
 
     /**
@@ -332,11 +321,51 @@ public class CommandContexts<R extends CommandExecutionContext<?, ? extends Comm
      * call {@link CommandExecutionContext#popFirstArg()}
      */
     public <T> void registerContext(Class<T> context, ContextResolver<T, R> supplier) {
+        putResolver(context, supplier);
+    }
+
+    /**
+     * Registers the context resolver for int parameters, which passes values to the command method without boxing.
+     * Register it for {@link Integer} too with {@link #registerContext(Class, ContextResolver)} if both should match.
+     */
+    public void registerIntContext(IntContextResolver<R> supplier) {
+        putResolver(int.class, supplier);
+    }
+
+    /**
+     * Registers the context resolver for long parameters, which passes values to the command method without boxing.
+     */
+    public void registerLongContext(LongContextResolver<R> supplier) {
+        putResolver(long.class, supplier);
+    }
+
+    /**
+     * Registers the context resolver for double parameters, which passes values to the command method without boxing.
+     */
+    public void registerDoubleContext(DoubleContextResolver<R> supplier) {
+        putResolver(double.class, supplier);
+    }
+
+    /**
+     * Registers the context resolver for boolean parameters, which passes values to the command method without boxing.
+     */
+    public void registerBooleanContext(BooleanContextResolver<R> supplier) {
+        putResolver(boolean.class, supplier);
+    }
+
+    private void putResolver(Class<?> context, ContextResolver<?, R> supplier) {
         contextMap.put(context, supplier);
     }
 
     public ContextResolver<?, R> getResolver(Class<?> type) {
-        Class<?> rootType = type;
+        ContextResolver<?, R> resolver = resolvers.get(type);
+        if (resolver == null) {
+            this.manager.log(LogLevel.ERROR, "Could not find context resolver", new IllegalStateException("No context resolver defined for " + type.getName()));
+        }
+        return resolver;
+    }
+
+    private ContextResolver<?, R> findResolver(Class<?> type) {
         do {
             if (type == Object.class) {
                 break;
@@ -347,8 +376,129 @@ public class CommandContexts<R extends CommandExecutionContext<?, ? extends Comm
                 return resolver;
             }
         } while ((type = type.getSuperclass()) != null);
-
-        this.manager.log(LogLevel.ERROR, "Could not find context resolver", new IllegalStateException("No context resolver defined for " + rootType.getName()));
         return null;
     }
+
+    /**
+     * Invalidates {@link #resolvers} on every write, so subclasses writing to {@link #contextMap} directly keep working.
+     */
+    @SuppressWarnings("serial")
+    private final class ResolverMap extends HashMap<Class<?>, ContextResolver<?, R>> {
+        @Override
+        public ContextResolver<?, R> put(Class<?> key, ContextResolver<?, R> value) {
+            try {
+                return super.put(key, value);
+            } finally {
+                resolvers.invalidate();
+            }
+        }
+
+        @Override
+        public void putAll(Map<? extends Class<?>, ? extends ContextResolver<?, R>> map) {
+            try {
+                super.putAll(map);
+            } finally {
+                resolvers.invalidate();
+            }
+        }
+
+        @Override
+        public ContextResolver<?, R> putIfAbsent(Class<?> key, ContextResolver<?, R> value) {
+            try {
+                return super.putIfAbsent(key, value);
+            } finally {
+                resolvers.invalidate();
+            }
+        }
+
+        @Override
+        public ContextResolver<?, R> remove(Object key) {
+            try {
+                return super.remove(key);
+            } finally {
+                resolvers.invalidate();
+            }
+        }
+
+        @Override
+        public boolean remove(Object key, Object value) {
+            try {
+                return super.remove(key, value);
+            } finally {
+                resolvers.invalidate();
+            }
+        }
+
+        @Override
+        public ContextResolver<?, R> replace(Class<?> key, ContextResolver<?, R> value) {
+            try {
+                return super.replace(key, value);
+            } finally {
+                resolvers.invalidate();
+            }
+        }
+
+        @Override
+        public boolean replace(Class<?> key, ContextResolver<?, R> oldValue, ContextResolver<?, R> newValue) {
+            try {
+                return super.replace(key, oldValue, newValue);
+            } finally {
+                resolvers.invalidate();
+            }
+        }
+
+        @Override
+        public void replaceAll(BiFunction<? super Class<?>, ? super ContextResolver<?, R>, ? extends ContextResolver<?, R>> function) {
+            try {
+                super.replaceAll(function);
+            } finally {
+                resolvers.invalidate();
+            }
+        }
+
+        @Override
+        public ContextResolver<?, R> computeIfAbsent(Class<?> key, Function<? super Class<?>, ? extends ContextResolver<?, R>> function) {
+            try {
+                return super.computeIfAbsent(key, function);
+            } finally {
+                resolvers.invalidate();
+            }
+        }
+
+        @Override
+        public ContextResolver<?, R> computeIfPresent(Class<?> key, BiFunction<? super Class<?>, ? super ContextResolver<?, R>, ? extends ContextResolver<?, R>> function) {
+            try {
+                return super.computeIfPresent(key, function);
+            } finally {
+                resolvers.invalidate();
+            }
+        }
+
+        @Override
+        public ContextResolver<?, R> compute(Class<?> key, BiFunction<? super Class<?>, ? super ContextResolver<?, R>, ? extends ContextResolver<?, R>> function) {
+            try {
+                return super.compute(key, function);
+            } finally {
+                resolvers.invalidate();
+            }
+        }
+
+        @Override
+        public ContextResolver<?, R> merge(Class<?> key, ContextResolver<?, R> value, BiFunction<? super ContextResolver<?, R>, ? super ContextResolver<?, R>, ? extends ContextResolver<?, R>> function) {
+            try {
+                return super.merge(key, value, function);
+            } finally {
+                resolvers.invalidate();
+            }
+        }
+
+        @Override
+        public void clear() {
+            try {
+                super.clear();
+            } finally {
+                resolvers.invalidate();
+            }
+        }
+    }
 }
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2016-2020 Daniel Ennis (Aikar) - MIT License
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining
+ *  a copy of this software and associated documentation files (the
+ *  "Software"), to deal in the Software without restriction, including
+ *  without limitation the rights to use, copy, modify, merge, publish,
+ *  distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to
+ *  the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be
+ *  included in all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *  EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *  MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *  NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ *  LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ *  OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ *  WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package co.aikar.commands;
+
+import co.aikar.commands.annotation.Cooldown;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Enforces {@link Cooldown} limits before a command's contexts are resolved.
+ * <p>
+ * Every limit is a token bucket kept as a single {@link AtomicLong}: the time at which the bucket will be full again.
+ * A use pushes that time forward by one refill interval, and is allowed as long as it stays within one period of now.
+ * Buckets are stored per command in a concurrent map keyed by issuer {@link UUID}, or once per command for global limits,
+ * so checking a limit never locks and a rejection allocates nothing but its message.
+ */
+public final class CommandCooldowns {
+    private static final int PURGE_THRESHOLD = 1024;
+
+    private final CommandManager manager;
+
+    CommandCooldowns(CommandManager manager) {
+        this.manager = manager;
+    }
+
+    /**
+     * Builds the limit of a command from its {@link Cooldown} annotation, if it has one.
+     */
+    @Nullable
+    Limit createLimit(RegisteredCommand<?> command) {
+        Annotations<?> annotations = manager.getAnnotations();
+        Cooldown cooldown = annotations.getAnnotation(command.method, Cooldown.class);
+        if (cooldown == null) {
+            cooldown = annotations.getAnnotationFromClass(command.scope.getClass(), Cooldown.class);
+        }
+        if (cooldown == null) {
+            return null;
+        }
+        long period = TimeUnit.MILLISECONDS.toNanos(ACFUtil.parseDuration(manager.getCommandReplacements().replace(cooldown.value())));
+        int uses = cooldown.uses();
+        if (period <= 0 || uses < 1) {
+            throw new IllegalArgumentException("Invalid @Cooldown on " + command.method + ": " + cooldown.value() + " with " + uses + " uses");
+        }
+        String bypass = cooldown.bypassPermission();
+        return new Limit(period, uses, cooldown.global(), bypass.isEmpty() ? null : bypass);
+    }
+
+    /**
+     * Takes a use from the issuer's bucket, telling them how long to wait if none is left.
+     *
+     * @return false if the command should not run
+     */
+    boolean tryAcquire(CommandIssuer issuer, RegisteredCommand<?> command) {
+        Limit limit = command.cooldown;
+        if (limit == null || (limit.bypassPermission != null && manager.hasPermission(issuer, limit.bypassPermission))) {
+            return true;
+        }
+        long now = System.nanoTime();
+        long wait = limit.bucket(issuer.getUniqueId(), now).tryAcquire(now, limit.interval, limit.period);
+        if (wait <= 0) {
+            return true;
+        }
+        issuer.sendMessage(MessageType.ERROR, MessageKeys.COMMAND_ON_COOLDOWN,
+                "{seconds}", Long.toString(Math.max(1, (wait + 999_999_999L) / 1_000_000_000L)));
+        return false;
+    }
+
+    /**
+     * Gets how long the issuer has to wait before they may use the command again.
+     */
+    public long getRemaining(@NotNull CommandIssuer issuer, @NotNull RegisteredCommand<?> command, @NotNull TimeUnit unit) {
+        Limit limit = command.cooldown;
+        if (limit == null) {
+            return 0;
+        }
+        Bucket bucket = limit.global ? limit.globalBucket : limit.buckets.get(issuer.getUniqueId());
+        if (bucket == null) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        if (bucket.isFull(now)) {
+            return 0;
+        }
+        long wait = bucket.full.get() + limit.interval - limit.period - now;
+        return wait > 0 ? unit.convert(wait, TimeUnit.NANOSECONDS) : 0;
+    }
+
+    /**
+     * Gives the issuer back all uses of every command.
+     */
+    public void reset(@NotNull UUID issuer) {
+        for (RootCommand rootCommand : (Iterable<RootCommand>) manager.getRegisteredRootCommands()) {
+            for (RegisteredCommand<?> command : rootCommand.getSubCommands().values()) {
+                if (command.cooldown != null) {
+                    command.cooldown.buckets.remove(issuer);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gives every issuer back all uses of the command.
+     */
+    public void reset(@NotNull RegisteredCommand<?> command) {
+        Limit limit = command.cooldown;
+        if (limit != null) {
+            limit.buckets.clear();
+            limit.globalBucket.full.set(0);
+        }
+    }
+
+    /**
+     * The parsed {@link Cooldown} of one command, along with its buckets.
+     */
+    static final class Limit {
+        final long period;
+        final long interval;
+        final boolean global;
+        final String bypassPermission;
+        final Bucket globalBucket = new Bucket();
+        final Map<UUID, Bucket> buckets = new ConcurrentHashMap<>();
+
+        Limit(long period, int uses, boolean global, String bypassPermission) {
+            this.period = period;
+            this.interval = period / uses;
+            this.global = global;
+            this.bypassPermission = bypassPermission;
+        }
+
+        Bucket bucket(UUID issuer, long now) {
+            if (global) {
+                return globalBucket;
+            }
+            Bucket bucket = buckets.get(issuer);
+            if (bucket == null) {
+                if (buckets.size() >= PURGE_THRESHOLD) {
+                    // Full buckets carry no state, drop them so issuers that left don't accumulate
+                    buckets.values().removeIf(b -> b.isFull(now));
+                }
+                bucket = buckets.computeIfAbsent(issuer, id -> new Bucket());
+            }
+            return bucket;
+        }
+    }
+
+    static final class Bucket {
+        /**
+         * The {@link System#nanoTime()} at which this bucket holds all of its uses again, or 0 if it has never been used
+         */
+        final AtomicLong full = new AtomicLong();
+
+        boolean isFull(long now) {
+            long full = this.full.get();
+            return full == 0 || full - now <= 0;
+        }
+
+        /**
+         * @return 0 if a use was taken, otherwise the nanoseconds until one is available
+         */
+        long tryAcquire(long now, long interval, long period) {
+            while (true) {
+                long current = full.get();
+                long start = current != 0 && current - now > 0 ? current : now;
+                long next = start + interval;
+                long overflow = next - now - period;
+                if (overflow > 0) {
+                    return overflow;
+                }
+                if (full.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+    }
+}
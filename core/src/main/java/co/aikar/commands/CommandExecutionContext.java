@@ -38,6 +38,7 @@ public class CommandExecutionContext<CEC extends CommandExecutionContext, I exte
     private final int index;
     private final Map<String, Object> passedArgs;
     private final Map<String, String> flags;
+    private final ParameterFlags parameterFlags;
     private final CommandManager manager;
 
     CommandExecutionContext(RegisteredCommand cmd, CommandParameter param, I sender, List<String> args,
@@ -50,6 +51,7 @@ public class CommandExecutionContext<CEC extends CommandExecutionContext, I exte
         this.index = index;
         this.passedArgs = passedArgs;
         this.flags = param.getFlags();
+        this.parameterFlags = param.getParameterFlags();
 
     }
 
@@ -125,35 +127,35 @@ public class CommandExecutionContext<CEC extends CommandExecutionContext, I exte
     }
 
     public Integer getFlagValue(String flag, Integer def) {
-        return ACFUtil.parseInt(this.flags.get(flag), def);
+        return ACFUtil.nullDefault(parameterFlags.getInt(flag), def);
     }
 
     public Long getFlagValue(String flag, Long def) {
-        return ACFUtil.parseLong(this.flags.get(flag), def);
+        return ACFUtil.nullDefault(parameterFlags.getLong(flag), def);
     }
 
     public Float getFlagValue(String flag, Float def) {
-        return ACFUtil.parseFloat(this.flags.get(flag), def);
+        return ACFUtil.nullDefault(parameterFlags.getFloat(flag), def);
     }
 
     public Double getFlagValue(String flag, Double def) {
-        return ACFUtil.parseDouble(this.flags.get(flag), def);
+        return ACFUtil.nullDefault(parameterFlags.getDouble(flag), def);
     }
 
     public Integer getIntFlagValue(String flag, Number def) {
-        return ACFUtil.parseInt(this.flags.get(flag), def != null ? def.intValue() : null);
+        return ACFUtil.nullDefault(parameterFlags.getInt(flag), def != null ? def.intValue() : null);
     }
 
     public Long getLongFlagValue(String flag, Number def) {
-        return ACFUtil.parseLong(this.flags.get(flag), def != null ? def.longValue() : null);
+        return ACFUtil.nullDefault(parameterFlags.getLong(flag), def != null ? def.longValue() : null);
     }
 
     public Float getFloatFlagValue(String flag, Number def) {
-        return ACFUtil.parseFloat(this.flags.get(flag), def != null ? def.floatValue() : null);
+        return ACFUtil.nullDefault(parameterFlags.getFloat(flag), def != null ? def.floatValue() : null);
     }
 
     public Double getDoubleFlagValue(String flag, Number def) {
-        return ACFUtil.parseDouble(this.flags.get(flag), def != null ? def.doubleValue() : null);
+        return ACFUtil.nullDefault(parameterFlags.getDouble(flag), def != null ? def.doubleValue() : null);
     }
 
     public Boolean getBooleanFlagValue(String flag) {
@@ -161,15 +163,18 @@ public class CommandExecutionContext<CEC extends CommandExecutionContext, I exte
     }
 
     public Boolean getBooleanFlagValue(String flag, Boolean def) {
-        String val = this.flags.get(flag);
-        if (val == null) {
-            return def;
-        }
-        return ACFUtil.isTruthy(val);
+        return ACFUtil.nullDefault(parameterFlags.getBoolean(flag), def);
     }
 
     public Double getFlagValue(String flag, Number def) {
-        return ACFUtil.parseDouble(this.flags.get(flag), def != null ? def.doubleValue() : null);
+        return ACFUtil.nullDefault(parameterFlags.getDouble(flag), def != null ? def.doubleValue() : null);
+    }
+
+    /**
+     * @return The flags of this parameter, already parsed into their values
+     */
+    public ParameterFlags getParameterFlags() {
+        return parameterFlags;
     }
 
     /**
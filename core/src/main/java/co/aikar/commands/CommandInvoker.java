@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2016-2020 Daniel Ennis (Aikar) - MIT License
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining
+ *  a copy of this software and associated documentation files (the
+ *  "Software"), to deal in the Software without restriction, including
+ *  without limitation the rights to use, copy, modify, merge, publish,
+ *  distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to
+ *  the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be
+ *  included in all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *  EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *  MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *  NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ *  LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ *  OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ *  WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+
+package co.aikar.commands;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Calls a command or {@link co.aikar.commands.annotation.PreCommand} method with already resolved arguments.
+ * <p>
+ * Methods are bound to a {@link MethodHandle} spread to their exact arity once, when the command is registered, so
+ * executions skip the reflective access checks and argument unwrapping of {@link Method#invoke(Object, Object...)}.
+ * Command methods are additionally bound to read their arguments straight from an {@link ArgumentFrame}, so int, long,
+ * double and boolean parameters resolved by a primitive resolver reach the method without being boxed.
+ * If the handle can not be created, e.g. because a security manager denies it, plain reflection is used instead.
+ * <p>
+ * The handles are held per command rather than in static finals, so the JIT does not treat them as constants and
+ * does not inline the command method into the dispatch; the saving is the reflective overhead only.
+ * <p>
+ * Either way, exceptions thrown by the method are wrapped in an {@link InvocationTargetException}, and arguments
+ * that do not fit the parameters, such as a value of the wrong type or null for a primitive, are reported as an
+ * {@link IllegalArgumentException}, so callers see the same behavior as with reflection.
+ */
+interface CommandInvoker {
+
+    Object invoke(Object target, Object[] args) throws IllegalAccessException, InvocationTargetException;
+
+    default Object invoke(Object target, ArgumentFrame frame) throws IllegalAccessException, InvocationTargetException {
+        return invoke(target, frame.getValues());
+    }
+
+    static CommandInvoker of(Method method) {
+        try {
+            return new MethodHandleInvoker(method);
+        } catch (IllegalAccessException | RuntimeException e) {
+            return method::invoke;
+        }
+    }
+
+    final class MethodHandleInvoker implements CommandInvoker {
+        private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+        private static final MethodType FRAME_INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, ArgumentFrame.class);
+        private static final MethodHandle GET_INT = frameGetter("getInt", int.class);
+        private static final MethodHandle GET_LONG = frameGetter("getLong", long.class);
+        private static final MethodHandle GET_DOUBLE = frameGetter("getDouble", double.class);
+        private static final MethodHandle GET_BOOLEAN = frameGetter("getBoolean", boolean.class);
+        private static final MethodHandle GET_OBJECT = frameGetter("getObject", Object.class);
+        private static final MethodHandle THROW_TARGET_EXCEPTION;
+        static {
+            try {
+                THROW_TARGET_EXCEPTION = MethodHandles.lookup().findStatic(MethodHandleInvoker.class, "throwTargetException",
+                        MethodType.methodType(Object.class, Throwable.class));
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        private final MethodHandle handle;
+        private final MethodHandle frameHandle;
+
+        MethodHandleInvoker(Method method) throws IllegalAccessException {
+            MethodHandle handle = MethodHandles.lookup().unreflect(method);
+            if (Modifier.isStatic(method.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            // Wrap only what the method itself throws, before adapting the arguments, so a failing cast or
+            // unboxing null into a primitive parameter can be told apart from it
+            MethodType type = handle.type();
+            MethodHandle rethrow = MethodHandles.dropArguments(
+                    THROW_TARGET_EXCEPTION.asType(MethodType.methodType(type.returnType(), Throwable.class)), 1, type.parameterList());
+            handle = MethodHandles.catchException(handle, Throwable.class, rethrow);
+            this.handle = handle.asSpreader(Object[].class, method.getParameterCount()).asType(INVOKER_TYPE);
+
+            Class<?>[] types = method.getParameterTypes();
+            MethodHandle[] getters = new MethodHandle[types.length];
+            int[] reorder = new int[types.length + 1];
+            for (int i = 0; i < types.length; i++) {
+                getters[i] = MethodHandles.insertArguments(getter(types[i]), 1, i);
+                reorder[i + 1] = 1;
+            }
+            handle = handle.asType(handle.type().changeParameterType(0, Object.class).changeReturnType(Object.class));
+            this.frameHandle = MethodHandles.permuteArguments(MethodHandles.filterArguments(handle, 1, getters), FRAME_INVOKER_TYPE, reorder);
+        }
+
+        private static MethodHandle frameGetter(String name, Class<?> type) {
+            try {
+                return MethodHandles.lookup().findVirtual(ArgumentFrame.class, name, MethodType.methodType(type, int.class));
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private static MethodHandle getter(Class<?> type) {
+            if (type == int.class) {
+                return GET_INT;
+            } else if (type == long.class) {
+                return GET_LONG;
+            } else if (type == double.class) {
+                return GET_DOUBLE;
+            } else if (type == boolean.class) {
+                return GET_BOOLEAN;
+            }
+            return GET_OBJECT.asType(MethodType.methodType(type, ArgumentFrame.class, int.class));
+        }
+
+        @Override
+        public Object invoke(Object target, Object[] args) throws InvocationTargetException {
+            try {
+                return handle.invokeExact(target, args);
+            } catch (InvocationTargetException e) {
+                throw e;
+            } catch (Throwable t) {
+                throw invalidArguments(t);
+            }
+        }
+
+        @Override
+        public Object invoke(Object target, ArgumentFrame frame) throws InvocationTargetException {
+            try {
+                return frameHandle.invokeExact(target, frame);
+            } catch (InvocationTargetException e) {
+                throw e;
+            } catch (Throwable t) {
+                throw invalidArguments(t);
+            }
+        }
+
+        private static Object throwTargetException(Throwable t) throws InvocationTargetException {
+            throw new InvocationTargetException(t);
+        }
+
+        private static RuntimeException invalidArguments(Throwable t) {
+            if (t instanceof Error) {
+                throw (Error) t;
+            }
+            return new IllegalArgumentException("Arguments do not match the parameters of the command method", t);
+        }
+    }
+}
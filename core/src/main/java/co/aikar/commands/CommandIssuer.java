@@ -26,6 +26,7 @@ package co.aikar.commands;
 import co.aikar.locales.MessageKey;
 import co.aikar.locales.MessageKeyProvider;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.UUID;
 
@@ -58,6 +59,16 @@ public interface CommandIssuer {
      */
     @NotNull UUID getUniqueId();
 
+    /**
+     * The key the {@link PermissionCache} remembers this issuer's permission decisions under.
+     * Return null if the decisions depend on more than the issuer, so they are never cached.
+     * @return the unique id of this issuer by default
+     */
+    @Nullable
+    default UUID getPermissionCacheKey() {
+        return getUniqueId();
+    }
+
     /**
      * Has permission node
      * @param permission
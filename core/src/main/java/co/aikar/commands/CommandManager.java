@@ -24,9 +24,11 @@
 package co.aikar.commands;
 
 import co.aikar.commands.annotation.Dependency;
+import co.aikar.locales.MessageKey;
 import co.aikar.locales.MessageKeyProvider;
 import co.aikar.util.Table;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
@@ -45,6 +47,7 @@ import java.util.Set;
 import java.util.Stack;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 
 @SuppressWarnings("WeakerAccess")
@@ -69,6 +72,10 @@ public abstract class CommandManager<
     protected Map<String, RootCommand> rootCommands = new HashMap<>();
     protected final CommandReplacements replacements = new CommandReplacements(this);
     protected final CommandConditions<I, CEC, CC> conditions = new CommandConditions<>(this);
+    protected final PermissionCache permissionCache = new PermissionCache();
+    protected final AsyncCommandTracker asyncCommandTracker = new AsyncCommandTracker(this);
+    protected final CommandCooldowns cooldowns = new CommandCooldowns(this);
+    protected final CommandMetrics metrics = new CommandMetrics(this);
     protected ExceptionHandler defaultExceptionHandler = null;
     boolean logUnhandledExceptions = true;
     protected Table<Class<?>, String, Object> dependencies = new Table<>();
@@ -82,6 +89,8 @@ public abstract class CommandManager<
     protected int defaultHelpPerPage = 10;
 
     protected Map<UUID, Locale> issuersLocale = new ConcurrentHashMap<>();
+    private final Map<MessageType, Map<Locale, Map<MessageKey, MessageTemplate>>> messageTemplates = new ConcurrentHashMap<>();
+    private final Map<Class<?>, EnumLookup> enumLookups = new ConcurrentHashMap<>();
 
     private Set<String> unstableAPIs = new HashSet<>();
 
@@ -315,14 +324,53 @@ public abstract class CommandManager<
         if (permission == null || permission.isEmpty()) {
             return true;
         }
+        if (permission.indexOf(',') == -1) {
+            return permissionCache.hasPermission(issuer, permission);
+        }
         for (String perm : ACFPatterns.COMMA.split(permission)) {
-            if (!perm.isEmpty() && !issuer.hasPermission(perm)) {
+            if (!perm.isEmpty() && !permissionCache.hasPermission(issuer, perm)) {
                 return false;
             }
         }
         return true;
     }
 
+    /**
+     * Gets the cache of permission decisions, which can be enabled and invalidated through it.
+     *
+     * @return The permission cache of this manager
+     */
+    public PermissionCache getPermissionCache() {
+        return permissionCache;
+    }
+
+    /**
+     * Gets the tracker of commands still running asynchronously, which holds their timeouts and in flight limits.
+     *
+     * @return The async command tracker of this manager
+     */
+    public AsyncCommandTracker getAsyncCommandTracker() {
+        return asyncCommandTracker;
+    }
+
+    /**
+     * Gets the {@link co.aikar.commands.annotation.Cooldown} limits of this manager, which can be inspected and reset through it.
+     *
+     * @return The command cooldowns of this manager
+     */
+    public CommandCooldowns getCommandCooldowns() {
+        return cooldowns;
+    }
+
+    /**
+     * Gets the execution metrics of this manager's commands, which can be enabled and read through it.
+     *
+     * @return The command metrics of this manager
+     */
+    public CommandMetrics getCommandMetrics() {
+        return metrics;
+    }
+
     public synchronized RootCommand getRootCommand(@NotNull String cmd) {
         return rootCommands.get(ACFPatterns.SPACE.split(cmd.toLowerCase(Locale.ENGLISH), 2)[0]);
     }
@@ -391,6 +439,27 @@ public abstract class CommandManager<
         return result;
     }
 
+    /**
+     * The executor that runs the body of {@link co.aikar.commands.annotation.Async} commands.
+     * Platforms without a main thread return null, which runs those commands in place.
+     *
+     * @return Executor, or null if async execution is not supported
+     */
+    @Nullable
+    public Executor getAsyncCommandExecutor() {
+        return null;
+    }
+
+    /**
+     * The executor that hands work back to the thread commands are normally executed on.
+     * Messages and results of {@link co.aikar.commands.annotation.Async} commands are delivered through it.
+     *
+     * @return Executor
+     */
+    public Executor getMainThreadExecutor() {
+        return Runnable::run;
+    }
+
     public void sendMessage(IT issuerArg, MessageType type, MessageKeyProvider key, String... replacements) {
         sendMessage(getCommandIssuer(issuerArg), type, key, replacements);
     }
@@ -398,12 +467,33 @@ public abstract class CommandManager<
     public void sendMessage(CommandIssuer issuer, MessageType type, MessageKeyProvider key, String... replacements) {
         String message = formatMessage(issuer, type, key, replacements);
 
+        CommandOperationContext context = getCurrentCommandOperationContext();
+        if (context != null && context.mainThreadExecutor != null) {
+            context.mainThreadExecutor.execute(() -> sendFormattedMessage(issuer, message));
+            return;
+        }
+        sendFormattedMessage(issuer, message);
+    }
+
+    private void sendFormattedMessage(CommandIssuer issuer, String message) {
+        if (message.indexOf('\n') == -1) {
+            issuer.sendMessageInternal(ACFUtil.rtrim(message));
+            return;
+        }
         for (String msg : ACFPatterns.NEWLINE.split(message)) {
             issuer.sendMessageInternal(ACFUtil.rtrim(msg));
         }
     }
 
     public String formatMessage(CommandIssuer issuer, MessageType type, MessageKeyProvider key, String... replacements) {
+        MessageTemplate template = getMessageTemplate(issuer, type, key.getMessageKey());
+        if (template != null) {
+            String message = template.format(replacements);
+            if (message != null) {
+                return message;
+            }
+        }
+
         String message = getLocales().getMessage(issuer, key.getMessageKey());
         if (replacements.length > 0) {
             message = ACFUtil.replaceStrings(message, replacements);
@@ -419,6 +509,29 @@ public abstract class CommandManager<
         return message;
     }
 
+    /**
+     * Gets the compiled template of a message in the issuer's locale, compiling it if needed.
+     *
+     * @return The template, or null if the message does not exist
+     */
+    private MessageTemplate getMessageTemplate(CommandIssuer issuer, MessageType type, MessageKey key) {
+        MessageFormatter<?> formatter = formatters.getOrDefault(type, defaultFormatter);
+        Map<MessageKey, MessageTemplate> templates = messageTemplates
+                .computeIfAbsent(type, t -> new ConcurrentHashMap<>())
+                .computeIfAbsent(getIssuerLocale(issuer), l -> new ConcurrentHashMap<>());
+
+        MessageTemplate template = templates.get(key);
+        if (template == null || !template.isCurrent(this, formatter)) {
+            String message = getLocales().getOptionalMessage(issuer, key);
+            if (message == null) {
+                return null;
+            }
+            template = MessageTemplate.compile(this, issuer, formatter, message);
+            templates.put(key, template);
+        }
+        return template;
+    }
+
     public void onLocaleChange(IssuerLocaleChangedCallback<I> onChange) {
         localeChangedCallbacks.add(onChange);
     }
@@ -574,6 +687,13 @@ public abstract class CommandManager<
         return unstableAPIs.contains(api);
     }
 
+    /**
+     * Lookup tables for an enum type, built on first use and kept for the lifetime of this manager.
+     */
+    EnumLookup getEnumLookup(Class<? extends Enum<?>> type) {
+        return enumLookups.computeIfAbsent(type, EnumLookup::new);
+    }
+
     Annotations getAnnotations() {
         return annotations;
     }
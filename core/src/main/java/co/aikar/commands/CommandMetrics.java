@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2016-2020 Daniel Ennis (Aikar) - MIT License
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining
+ *  a copy of this software and associated documentation files (the
+ *  "Software"), to deal in the Software without restriction, including
+ *  without limitation the rights to use, copy, modify, merge, publish,
+ *  distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to
+ *  the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be
+ *  included in all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *  EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *  MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *  NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ *  LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ *  OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ *  WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package co.aikar.commands;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records how often each {@link RegisteredCommand} runs, how often it fails, and how long each phase of its
+ * execution takes, on every platform.
+ * <p>
+ * Recording uses striped counters and {@link LatencyHistogram}s, so commands running on many threads don't contend.
+ * Exporters pull the numbers through {@link #snapshot()}. The invoke phase covers the command method itself, including
+ * the body of an {@link co.aikar.commands.annotation.Async} command on the thread it runs on. Work completing later
+ * through a returned stage is not included.
+ * <p>
+ * Metrics are disabled by default.
+ */
+public final class CommandMetrics {
+
+    public enum Phase {
+        /**
+         * Finding the command matching the input
+         */
+        ROUTE,
+        /**
+         * Validating the command's {@link co.aikar.commands.annotation.Conditions}
+         */
+        CONDITIONS,
+        /**
+         * Resolving the arguments into parameter values, including parameter conditions
+         */
+        CONTEXTS,
+        /**
+         * Running the command method, on the async executor for {@link co.aikar.commands.annotation.Async} commands
+         */
+        INVOKE
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final CommandManager manager;
+    private volatile boolean enabled = false;
+
+    CommandMetrics(CommandManager manager) {
+        this.manager = manager;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return The time to measure a phase from, or 0 if metrics are disabled
+     */
+    long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records the phase as lasting from start until now, unless metrics were disabled when it started.
+     *
+     * @return The time the phase ended, for the next phase to start from
+     */
+    long record(RegisteredCommand<?> command, Phase phase, long start) {
+        if (start == 0) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        command.metrics.phases[phase.ordinal()].record(now - start);
+        return now;
+    }
+
+    /**
+     * Takes a point in time copy of the metrics of every registered command.
+     */
+    public List<CommandSnapshot> snapshot() {
+        Map<RegisteredCommand<?>, Boolean> seen = new IdentityHashMap<>();
+        List<CommandSnapshot> snapshots = new ArrayList<>();
+        for (RootCommand rootCommand : (Iterable<RootCommand>) manager.getRegisteredRootCommands()) {
+            for (RegisteredCommand<?> command : rootCommand.getSubCommands().values()) {
+                if (seen.put(command, Boolean.TRUE) == null) {
+                    snapshots.add(new CommandSnapshot(command));
+                }
+            }
+        }
+        return Collections.unmodifiableList(snapshots);
+    }
+
+    /**
+     * Resets the metrics of every registered command.
+     */
+    public void reset() {
+        for (RootCommand rootCommand : (Iterable<RootCommand>) manager.getRegisteredRootCommands()) {
+            for (RegisteredCommand<?> command : rootCommand.getSubCommands().values()) {
+                command.metrics = new Recorder();
+            }
+        }
+    }
+
+    /**
+     * The live counters of one command.
+     */
+    static final class Recorder {
+        final LongAdder executions = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder invalidUsages = new LongAdder();
+        final LatencyHistogram[] phases = new LatencyHistogram[PHASES.length];
+
+        Recorder() {
+            for (int i = 0; i < phases.length; i++) {
+                phases[i] = new LatencyHistogram();
+            }
+        }
+    }
+
+    public static final class CommandSnapshot {
+        private final RegisteredCommand<?> command;
+        private final long executions;
+        private final long errors;
+        private final long invalidUsages;
+        private final Map<Phase, LatencyHistogram.Snapshot> phases = new EnumMap<>(Phase.class);
+
+        private CommandSnapshot(RegisteredCommand<?> command) {
+            Recorder recorder = command.metrics;
+            this.command = command;
+            this.executions = recorder.executions.sum();
+            this.errors = recorder.errors.sum();
+            this.invalidUsages = recorder.invalidUsages.sum();
+            for (Phase phase : PHASES) {
+                phases.put(phase, recorder.phases[phase.ordinal()].snapshot());
+            }
+        }
+
+        public RegisteredCommand<?> getCommand() {
+            return command;
+        }
+
+        /**
+         * @return The full command, e.g. "root sub"
+         */
+        public String getCommandName() {
+            return command.getCommand();
+        }
+
+        /**
+         * @return How often the command was routed to and passed its permission check
+         */
+        public long getExecutions() {
+            return executions;
+        }
+
+        /**
+         * @return How often the command failed with an exception other than invalid input
+         */
+        public long getErrors() {
+            return errors;
+        }
+
+        /**
+         * @return How often the command was rejected for invalid arguments or failed conditions
+         */
+        public long getInvalidUsages() {
+            return invalidUsages;
+        }
+
+        public LatencyHistogram.Snapshot getLatency(Phase phase) {
+            return phases.get(phase);
+        }
+    }
+}
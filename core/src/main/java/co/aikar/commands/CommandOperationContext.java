@@ -25,9 +25,11 @@ package co.aikar.commands;
 
 import java.lang.annotation.Annotation;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
- * Holds information about the currently executing command on this thread
+ * Holds information about the currently executing command on this thread.
+ * This is the only place per invocation state is kept, so one command instance can safely run on several threads.
  */
 public class CommandOperationContext<I extends CommandIssuer> {
 
@@ -38,7 +40,12 @@ public class CommandOperationContext<I extends CommandIssuer> {
     private final String[] args;
     private final boolean isAsync;
     private RegisteredCommand registeredCommand;
+    private String subcommand;
     List<String> enumCompletionValues;
+    /**
+     * Set while an {@link co.aikar.commands.annotation.Async} command runs off the main thread, messages are delivered through it.
+     */
+    Executor mainThreadExecutor;
 
     CommandOperationContext(CommandManager manager, I issuer, BaseCommand command, String commandLabel, String[] args, boolean isAsync) {
         this.manager = manager;
@@ -69,6 +76,19 @@ public class CommandOperationContext<I extends CommandIssuer> {
         return args;
     }
 
+    /**
+     * Gets the actual sub command name the user typed, if one has been matched yet
+     *
+     * @return Name
+     */
+    public String getSubcommand() {
+        return subcommand;
+    }
+
+    void setSubcommand(String subcommand) {
+        this.subcommand = subcommand;
+    }
+
     public boolean isAsync() {
         return isAsync;
     }
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2016-2020 Daniel Ennis (Aikar) - MIT License
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining
+ *  a copy of this software and associated documentation files (the
+ *  "Software"), to deal in the Software without restriction, including
+ *  without limitation the rights to use, copy, modify, merge, publish,
+ *  distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to
+ *  the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be
+ *  included in all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *  EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *  MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *  NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ *  LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ *  OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ *  WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package co.aikar.commands;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Set;
+
+/**
+ * The overloads registered to a single subcommand key, ranked once so that picking the command to run for an input
+ * is an array lookup by argument count.
+ * <p>
+ * The ranking is rebuilt whenever a command is added through {@link #rebuild()}, or when the backing set changed size
+ * because commands were unregistered.
+ */
+final class CommandOverloads {
+    /**
+     * Commands that consume more input are preferred, ties keep the iteration order of the backing set.
+     */
+    private static final Comparator<RegisteredCommand> MOST_INPUT_FIRST = (c1, c2) -> Integer.compare(c2.consumeInputResolvers, c1.consumeInputResolvers);
+
+    private final Set<RegisteredCommand> commands;
+    private final boolean defaults;
+    private volatile Ranking ranking;
+
+    /**
+     * @param commands The commands registered to the key. This may be a live view that changes over time.
+     * @param defaults Whether these are {@link BaseCommand#DEFAULT} commands, which are only considered if the
+     *                 amount of arguments could be accepted by them.
+     */
+    CommandOverloads(Set<RegisteredCommand> commands, boolean defaults) {
+        this.commands = commands;
+        this.defaults = defaults;
+    }
+
+    boolean isEmpty() {
+        return commands.isEmpty();
+    }
+
+    void rebuild() {
+        this.ranking = new Ranking(commands.toArray(new RegisteredCommand[0]), defaults);
+    }
+
+    private Ranking getRanking() {
+        Ranking ranking = this.ranking;
+        if (ranking == null || ranking.size != commands.size()) {
+            ranking = new Ranking(commands.toArray(new RegisteredCommand[0]), defaults);
+            this.ranking = ranking;
+        }
+        return ranking;
+    }
+
+    /**
+     * @param argLength The amount of arguments left after the subcommand.
+     * @return The first command that is considered for this amount of arguments, or null if there is none.
+     */
+    RegisteredCommand first(int argLength) {
+        Ranking ranking = getRanking();
+        return ranking.first[ranking.index(argLength)];
+    }
+
+    /**
+     * @param argLength  The amount of arguments left after the subcommand.
+     * @param completion Whether this is for tab completion, which also accepts commands still missing input.
+     * @return The best matching command for this amount of arguments, or null if none matches.
+     */
+    RegisteredCommand match(int argLength, boolean completion) {
+        Ranking ranking = getRanking();
+        int index = ranking.index(argLength);
+        return completion ? ranking.complete[index] : ranking.execute[index];
+    }
+
+    private static boolean isDefaultCandidate(RegisteredCommand c, int argLength) {
+        int required = c.requiredResolvers;
+        int optional = c.optionalResolvers;
+        CommandParameter lastParam = c.parameters.length > 0 ? c.parameters[c.parameters.length - 1] : null;
+        return argLength <= required + optional || (
+                lastParam != null && (
+                        lastParam.getType() == String[].class
+                                ||
+                                (argLength >= required && lastParam.consumesRest)
+                )
+        );
+    }
+
+    /**
+     * @TODO: Improve this to be more accurate like @Default handling.
+     */
+    private static boolean isProbableMatch(RegisteredCommand c, int argLength, boolean completion) {
+        int required = c.requiredResolvers;
+        int optional = c.optionalResolvers;
+        return argLength <= required + optional && (completion || argLength >= required);
+    }
+
+    private static final class Ranking {
+        private final int size;
+        private final RegisteredCommand[] first;
+        private final RegisteredCommand[] execute;
+        private final RegisteredCommand[] complete;
+
+        private Ranking(RegisteredCommand[] commands, boolean defaults) {
+            this.size = commands.length;
+            int maxArgs = 0;
+            for (RegisteredCommand c : commands) {
+                maxArgs = Math.max(maxArgs, c.requiredResolvers + c.optionalResolvers);
+            }
+            // Past maxArgs no command is a probable match and the default candidates stay the same,
+            // so one extra slot covers every longer input.
+            int slots = maxArgs + 2;
+            this.first = new RegisteredCommand[slots];
+            this.execute = new RegisteredCommand[slots];
+            this.complete = new RegisteredCommand[slots];
+
+            RegisteredCommand[] ranked = commands.clone();
+            Arrays.sort(ranked, MOST_INPUT_FIRST);
+
+            for (int argLength = 0; argLength < slots; argLength++) {
+                int candidates = 0;
+                for (RegisteredCommand c : commands) {
+                    if (!defaults || isDefaultCandidate(c, argLength)) {
+                        if (candidates++ == 0) {
+                            first[argLength] = c;
+                        }
+                    }
+                }
+                if (candidates == 1) {
+                    execute[argLength] = complete[argLength] = first[argLength];
+                    continue;
+                }
+                for (RegisteredCommand c : ranked) {
+                    if (defaults && !isDefaultCandidate(c, argLength)) {
+                        continue;
+                    }
+                    if (execute[argLength] == null && isProbableMatch(c, argLength, false)) {
+                        execute[argLength] = c;
+                    }
+                    if (complete[argLength] == null && isProbableMatch(c, argLength, true)) {
+                        complete[argLength] = c;
+                    }
+                }
+            }
+        }
+
+        private int index(int argLength) {
+            return Math.min(argLength, first.length - 1);
+        }
+    }
+}
@@ -41,6 +41,7 @@ import co.aikar.locales.MessageKey;
 
 import java.lang.reflect.Parameter;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -51,6 +52,7 @@ public class CommandParameter<CEC extends CommandExecutionContext<CEC, ? extends
     private final Class<?> type;
     private final String name;
     private final CommandManager manager;
+    private final RegisteredCommand<CEC> command;
     private final int paramIndex;
 
     private ContextResolver<?, CEC> resolver;
@@ -61,10 +63,13 @@ public class CommandParameter<CEC extends CommandExecutionContext<CEC, ? extends
     private String defaultValue;
     private String syntax;
     private String conditions;
+    CommandConditions.ConditionChain conditionChain;
     private boolean requiresInput;
     private boolean commandIssuer;
     private String[] values;
+    ParameterValues compiledValues;
     private Map<String, String> flags;
+    private ParameterFlags parameterFlags;
     private boolean canConsumeInput;
     private boolean optionalResolver;
     boolean consumesRest;
@@ -77,6 +82,7 @@ public class CommandParameter<CEC extends CommandExecutionContext<CEC, ? extends
         this.isLast = isLast;
         this.type = param.getType();
         this.manager = command.manager;
+        this.command = command;
         this.paramIndex = paramIndex;
         Annotations annotations = manager.getAnnotations();
 
@@ -118,9 +124,19 @@ public class CommandParameter<CEC extends CommandExecutionContext<CEC, ? extends
             parseFlags(flags);
         }
         inheritContextFlags(command.scope);
+        this.parameterFlags = compileFlags();
         this.computePermissions();
     }
 
+    private ParameterFlags compileFlags() {
+        ParameterFlags parameterFlags = new ParameterFlags(this.flags);
+        for (String flag : parameterFlags.getInvalidFlags()) {
+            this.manager.log(LogLevel.ERROR, "Flag " + flag + " of parameter " + this.name + " in " + command.command
+                    + " is not a number and will be ignored: " + this.flags.get(flag));
+        }
+        return parameterFlags;
+    }
+
     private void inheritContextFlags(BaseCommand scope) {
         if (!scope.contextFlags.isEmpty()) {
             Class<?> pCls = this.type;
@@ -149,6 +165,7 @@ public class CommandParameter<CEC extends CommandExecutionContext<CEC, ? extends
         if (this.permission != null && !this.permission.isEmpty()) {
             this.permissions.addAll(Arrays.asList(ACFPatterns.COMMA.split(this.permission)));
         }
+        this.manager.getPermissionCache().intern(this.permissions);
     }
 
     private boolean isOptionalResolver(ContextResolver<?, CEC> resolver) {
@@ -233,14 +250,29 @@ public class CommandParameter<CEC extends CommandExecutionContext<CEC, ? extends
 
     public void setValues(String[] values) {
         this.values = values;
+        this.compiledValues = null;
     }
 
+    /**
+     * @return A read-only view of the flags, use {@link #setFlags(Map)} to change them
+     */
     public Map<String, String> getFlags() {
-        return flags;
+        return Collections.unmodifiableMap(flags);
     }
 
+    /**
+     * Replaces the flags of this parameter and parses them again, so {@link #getParameterFlags()} stays in sync.
+     */
     public void setFlags(Map<String, String> flags) {
-        this.flags = flags;
+        this.flags = new HashMap<>(flags);
+        this.parameterFlags = compileFlags();
+    }
+
+    /**
+     * @return The flags of this parameter, already parsed into their values
+     */
+    public ParameterFlags getParameterFlags() {
+        return parameterFlags;
     }
 
     public boolean canConsumeInput() {
@@ -293,6 +325,7 @@ public class CommandParameter<CEC extends CommandExecutionContext<CEC, ? extends
 
     public void setConditions(String conditions) {
         this.conditions = conditions;
+        this.conditionChain = null;
     }
 
     public Set<String> getRequiredPermissions() {
@@ -23,22 +23,44 @@
 
 package co.aikar.commands;
 
+import net.jodah.expiringmap.ExpirationPolicy;
+import net.jodah.expiringmap.ExpiringMap;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.AbstractMap;
-import java.util.LinkedHashMap;
+import java.util.Arrays;
 import java.util.Locale;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Manages replacement template strings
+ * <p>
+ * Text is scanned once for {@code %key} and {@code %{key}} tokens, which are looked up by key, so the cost of a
+ * replacement depends on the length of the text and not on how many replacements are registered. Results for text
+ * containing replacements are memoized, as the same annotation values and messages are replaced over and over.
  */
 public class CommandReplacements {
 
+    private static final int MAX_DEPTH = 10;
+    private static final int[] NO_LENGTHS = new int[0];
+
     private final CommandManager manager;
-    private final Map<String, Map.Entry<Pattern, String>> replacements = new LinkedHashMap<>();
+    private final Map<String, String> replacements = new ConcurrentHashMap<>();
+    /**
+     * Distinct lengths of the registered keys, longest first
+     */
+    private volatile int[] keyLengths = NO_LENGTHS;
+    /**
+     * Bumped whenever a replacement is added, so compiled message templates know to recompile
+     */
+    volatile int version = 0;
+    @SuppressWarnings("Convert2MethodRef")
+    private final Map<String, String> cache = ExpiringMap.builder()
+            .maxSize(500)
+            .expiration(1, TimeUnit.HOURS)
+            .expirationPolicy(ExpirationPolicy.ACCESSED)
+            .build();
 
     CommandReplacements(CommandManager manager) {
         this.manager = manager;
@@ -55,40 +77,134 @@ public class CommandReplacements {
     }
 
     public String addReplacement(String key, String val) {
-        return addReplacement0(key, val);
+        String replaced = addReplacement0(key, val);
+        this.manager.getCommandConditions().invalidate();
+        return replaced;
     }
 
     @Nullable
-    private String addReplacement0(String key, String val) {
+    private synchronized String addReplacement0(String key, String val) {
         key = ACFPatterns.PERCENTAGE.matcher(key.toLowerCase(Locale.ENGLISH)).replaceAll("");
-        Pattern pattern = Pattern.compile("%\\{" + Pattern.quote(key) + "}|%" + Pattern.quote(key) + "\\b",
-                Pattern.CASE_INSENSITIVE);
+        String replaced = replacements.put(key, val);
+
+        final int keyLength = key.length();
+        if (Arrays.stream(keyLengths).noneMatch(len -> len == keyLength)) {
+            int[] lengths = Arrays.copyOf(keyLengths, keyLengths.length + 1);
+            lengths[lengths.length - 1] = keyLength;
+            Arrays.sort(lengths);
+            for (int i = 0, j = lengths.length - 1; i < j; i++, j--) {
+                int swap = lengths[i];
+                lengths[i] = lengths[j];
+                lengths[j] = swap;
+            }
+            keyLengths = lengths;
+        }
+        cache.clear();
+        version++;
+        return replaced;
+    }
 
-        Map.Entry<Pattern, String> entry = new AbstractMap.SimpleImmutableEntry<>(pattern, val);
-        Map.Entry<Pattern, String> replaced = replacements.put(key, entry);
+    public String replace(String text) {
+        if (text == null || text.indexOf('%') == -1) {
+            return text;
+        }
 
-        if (replaced != null) {
-            return replaced.getValue();
+        String cached = cache.get(text);
+        if (cached != null) {
+            return cached;
         }
 
-        return null;
+        StringBuilder sb = new StringBuilder(text.length() + 16);
+        boolean complete = replace(text, sb, 0);
+        String result = sb.toString();
+        if (complete) {
+            cache.put(text, result);
+        }
+        return result;
     }
 
-    public String replace(String text) {
-        if (text == null) {
-            return null;
+    /**
+     * Appends the text to the builder with all replacements applied.
+     *
+     * @return false if an unregistered replacement was found, in which case the result must not be cached
+     */
+    private boolean replace(String text, StringBuilder sb, int depth) {
+        final int length = text.length();
+        boolean complete = true;
+        int last = 0;
+        int pos;
+        while ((pos = text.indexOf('%', last)) != -1 && pos + 1 < length) {
+            sb.append(text, last, pos);
+            int end;
+            String value;
+            if (text.charAt(pos + 1) == '{') {
+                end = text.indexOf('}', pos + 2);
+                value = end == -1 ? null : replacements.get(text.substring(pos + 2, end).toLowerCase(Locale.ENGLISH));
+                if (end != -1) {
+                    end++;
+                }
+                if (value == null && end != -1 && isUnregisteredReplacement(text, pos, end)) {
+                    this.manager.log(LogLevel.ERROR, "Found unregistered replacement: " + text.substring(pos, end));
+                    complete = false;
+                }
+            } else {
+                end = -1;
+                value = null;
+                for (int keyLength : keyLengths) {
+                    int keyEnd = pos + 1 + keyLength;
+                    if (keyEnd > length || !isWordBoundary(text, keyEnd)) {
+                        continue;
+                    }
+                    value = replacements.get(text.substring(pos + 1, keyEnd).toLowerCase(Locale.ENGLISH));
+                    if (value != null) {
+                        end = keyEnd;
+                        break;
+                    }
+                }
+            }
+
+            if (value == null) {
+                sb.append('%');
+                last = pos + 1;
+                continue;
+            }
+            if (depth < MAX_DEPTH && value.indexOf('%') != -1) {
+                complete &= replace(value, sb, depth + 1);
+            } else {
+                sb.append(value);
+            }
+            last = end;
         }
+        sb.append(text, last, length);
+        return complete;
+    }
 
-        for (Map.Entry<Pattern, String> entry : replacements.values()) {
-            text = entry.getKey().matcher(text).replaceAll(entry.getValue());
+    /**
+     * Matches what {@link ACFPatterns#REPLACEMENT_PATTERN} considers a replacement token: no whitespace between the
+     * braces and at least one character.
+     */
+    private static boolean isUnregisteredReplacement(String text, int start, int end) {
+        if (end - start < 4) {
+            return false;
         }
-
-        // check for unregistered replacements
-        Matcher matcher = ACFPatterns.REPLACEMENT_PATTERN.matcher(text);
-        while (matcher.find()) {
-            this.manager.log(LogLevel.ERROR, "Found unregistered replacement: " + matcher.group());
+        for (int i = start + 3; i < end - 1; i++) {
+            if (Character.isWhitespace(text.charAt(i))) {
+                return false;
+            }
         }
+        return true;
+    }
+
+    /**
+     * Same as the regex {@code \b} at the given position.
+     */
+    private static boolean isWordBoundary(String text, int pos) {
+        boolean before = pos > 0 && isWord(text.charAt(pos - 1));
+        boolean after = pos < text.length() && isWord(text.charAt(pos));
+        return before != after;
+    }
 
-        return text;
+    private static boolean isWord(char c) {
+        return c == '_' || Character.isLetterOrDigit(c);
     }
 }
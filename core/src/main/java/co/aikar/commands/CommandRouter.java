@@ -27,9 +27,7 @@ import co.aikar.commands.apachecommonslang.ApacheCommonsLangUtil;
 import com.google.common.collect.SetMultimap;
 
 import java.util.Arrays;
-import java.util.HashSet;
 import java.util.Locale;
-import java.util.Optional;
 import java.util.Set;
 
 import static co.aikar.commands.BaseCommand.CATCHUNKNOWN;
@@ -44,81 +42,56 @@ class CommandRouter {
     }
 
     CommandRouteResult matchCommand(RouteSearch search, boolean completion) {
-        Set<RegisteredCommand> cmds = search.commands;
-        String[] args = search.args;
-        if (!cmds.isEmpty()) {
-            if (cmds.size() == 1) {
-                return new CommandRouteResult(ACFUtil.getFirstElement(cmds), search);
-            } else {
-                Optional<RegisteredCommand> optCmd = cmds.stream()
-                        .filter(c -> isProbableMatch(c, args, completion))
-                        .min((c1, c2) -> {
-                    int a = c1.consumeInputResolvers;
-                    int b = c2.consumeInputResolvers;
-
-                    if (a == b) {
-                        return 0;
-                    }
-                    return a < b ? 1 : -1;
-                });
-                if (optCmd.isPresent()) {
-                    return new CommandRouteResult(optCmd.get(), search);
-                }
-            }
+        RegisteredCommand cmd = search.overloads.match(search.args.length, completion);
+        return cmd != null ? new CommandRouteResult(cmd, search) : null;
+    }
+
+    RouteSearch routeCommand(RootCommand command, String commandLabel, String[] args, boolean completion) {
+        SubcommandTrie trie = command.getSubcommandTrie();
+        if (trie == null) {
+            return routeCommand(command.getSubCommands(), commandLabel, args, completion);
+        }
+        int argLength = args.length;
+        SubcommandTrie.Node node = trie.match(args);
+        if (node != null) {
+            return new RouteSearch(node.overloads, Arrays.copyOfRange(args, node.depth, argLength), commandLabel, node.key, completion);
+        }
+
+        CommandOverloads defaultCommands = trie.getDefaults();
+        if (defaultCommands != null && defaultCommands.first(argLength) != null) {
+            return new RouteSearch(defaultCommands, args, commandLabel, null, completion);
+        }
+
+        CommandOverloads unknownCommands = trie.getCatchUnknown();
+        if (unknownCommands != null && !unknownCommands.isEmpty()) {
+            return new RouteSearch(unknownCommands, args, commandLabel, null, completion);
         }
+
         return null;
     }
 
     /**
-     * @param c
-     * @param args
-     * @param completion
-     * @return
-     * @TODO: Improve this to be more accurate like @Default handling.
+     * Routes input for root commands that do not provide a {@link SubcommandTrie}, ranking the overloads on every call.
      */
-    private boolean isProbableMatch(RegisteredCommand c, String[] args, boolean completion) {
-        int required = c.requiredResolvers;
-        int optional = c.optionalResolvers;
-        return args.length <= required + optional && (completion || args.length >= required);
-    }
-
-    RouteSearch routeCommand(RootCommand command, String commandLabel, String[] args, boolean completion) {
-        SetMultimap<String, RegisteredCommand> subCommands = command.getSubCommands();
+    private RouteSearch routeCommand(SetMultimap<String, RegisteredCommand> subCommands, String commandLabel, String[] args, boolean completion) {
         int argLength = args.length;
         for (int i = argLength; i >= 0; i--) {
             String subcommand = ApacheCommonsLangUtil.join(args, " ", 0, i).toLowerCase(Locale.ENGLISH);
             Set<RegisteredCommand> cmds = subCommands.get(subcommand);
 
             if (!cmds.isEmpty()) {
-                return new RouteSearch(cmds, Arrays.copyOfRange(args, i, argLength), commandLabel, subcommand, completion);
+                return new RouteSearch(new CommandOverloads(cmds, false), Arrays.copyOfRange(args, i, argLength), commandLabel, subcommand, completion);
             }
         }
 
-        Set<RegisteredCommand> defaultCommands = subCommands.get(DEFAULT);
-        Set<RegisteredCommand> unknownCommands = subCommands.get(CATCHUNKNOWN);
-        if (!defaultCommands.isEmpty()) {
-            Set<RegisteredCommand> matchedDefault = new HashSet<>();
-            for (RegisteredCommand c : defaultCommands) {
-                int required = c.requiredResolvers;
-                int optional = c.optionalResolvers;
-                CommandParameter lastParam = c.parameters.length > 0 ? c.parameters[c.parameters.length - 1] : null;
-                if (argLength <= required + optional || (
-                        lastParam != null && (
-                                lastParam.getType() == String[].class
-                                        ||
-                                        (argLength >= required && lastParam.consumesRest)
-                        )
-                )) {
-                    matchedDefault.add(c);
-                }
-            }
-            if (!matchedDefault.isEmpty()) {
-                return new RouteSearch(matchedDefault, args, commandLabel, null, completion);
-            }
+        CommandOverloads defaultCommands = new CommandOverloads(subCommands.get(DEFAULT), true);
+        if (defaultCommands.first(argLength) != null) {
+            return new RouteSearch(defaultCommands, args, commandLabel, null, completion);
         }
 
+        Set<RegisteredCommand> unknownCommands = subCommands.get(CATCHUNKNOWN);
         if (!unknownCommands.isEmpty()) {
-            return new RouteSearch(unknownCommands, args, commandLabel, null, completion);
+            return new RouteSearch(new CommandOverloads(unknownCommands, false), args, commandLabel, null, completion);
         }
 
         return null;
@@ -145,12 +118,12 @@ class CommandRouter {
 
     static class RouteSearch {
         final String[] args;
-        final Set<RegisteredCommand> commands;
+        final CommandOverloads overloads;
         final String commandLabel;
         final String subcommand;
 
-        RouteSearch(Set<RegisteredCommand> commands, String[] args, String commandLabel, String subcommand, boolean completion) {
-            this.commands = commands;
+        RouteSearch(CommandOverloads overloads, String[] args, String commandLabel, String subcommand, boolean completion) {
+            this.overloads = overloads;
             this.args = args;
             this.commandLabel = commandLabel.toLowerCase(Locale.ENGLISH);
             this.subcommand = subcommand;
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2016-2020 Daniel Ennis (Aikar) - MIT License
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining
+ *  a copy of this software and associated documentation files (the
+ *  "Software"), to deal in the Software without restriction, including
+ *  without limitation the rights to use, copy, modify, merge, publish,
+ *  distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to
+ *  the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be
+ *  included in all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *  EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *  MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *  NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ *  LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ *  OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ *  WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package co.aikar.commands;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Describes how long the results of a completion handler may be reused,
+ * see {@link CommandCompletions#registerCachedCompletion(String, CompletionCachePolicy, CommandCompletions.CommandCompletionHandler)}.
+ * <p>
+ * Results are always cached per completion config, as handlers like @range:1-10 return different values for each config.
+ * They are not keyed by the input, so handlers that filter on {@link CommandCompletionContext#getInput()} should not be cached.
+ */
+public final class CompletionCachePolicy {
+    private final long expiration;
+    private final TimeUnit unit;
+    private final int maxSize;
+    private final boolean perIssuer;
+
+    private CompletionCachePolicy(long expiration, TimeUnit unit, int maxSize, boolean perIssuer) {
+        if (expiration <= 0) {
+            throw new IllegalArgumentException("Expiration must be positive");
+        }
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Max size must be positive");
+        }
+        this.expiration = expiration;
+        this.unit = unit;
+        this.maxSize = maxSize;
+        this.perIssuer = perIssuer;
+    }
+
+    /**
+     * Caches results for the given time after they were computed.
+     *
+     * @param expiration
+     * @param unit
+     * @return
+     */
+    public static CompletionCachePolicy expireAfter(long expiration, TimeUnit unit) {
+        return new CompletionCachePolicy(expiration, unit, 100, false);
+    }
+
+    /**
+     * @param maxSize The maximum number of cached results, defaults to 100
+     * @return A copy of this policy with the given size limit
+     */
+    public CompletionCachePolicy maxSize(int maxSize) {
+        return new CompletionCachePolicy(expiration, unit, maxSize, perIssuer);
+    }
+
+    /**
+     * Caches results separately for each issuer, for handlers that depend on who is asking (permissions, own homes...).
+     *
+     * @return A copy of this policy that keys results by issuer
+     */
+    public CompletionCachePolicy perIssuer() {
+        return new CompletionCachePolicy(expiration, unit, maxSize, true);
+    }
+
+    public long getExpiration() {
+        return expiration;
+    }
+
+    public TimeUnit getUnit() {
+        return unit;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public boolean isPerIssuer() {
+        return perIssuer;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2016-2020 Daniel Ennis (Aikar) - MIT License
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining
+ *  a copy of this software and associated documentation files (the
+ *  "Software"), to deal in the Software without restriction, including
+ *  without limitation the rights to use, copy, modify, merge, publish,
+ *  distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to
+ *  the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be
+ *  included in all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *  EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *  MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *  NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ *  LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ *  OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ *  WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package co.aikar.commands;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.RandomAccess;
+
+/**
+ * An immutable list of completions, sorted case-insensitively and without duplicates, that can answer which entries
+ * start with the current input in O(log n) time.
+ * <p>
+ * Static completions are stored this way, and any completion handler may return one (for example a long list of
+ * item or warp names built once) so that each keystroke only touches the matching entries instead of the whole list.
+ */
+public final class CompletionIndex extends AbstractList<String> implements RandomAccess {
+    private static final CompletionIndex EMPTY = new CompletionIndex(new String[0], new String[0]);
+
+    private final String[] folded;
+    private final String[] values;
+
+    private CompletionIndex(String[] folded, String[] values) {
+        this.folded = folded;
+        this.values = values;
+    }
+
+    /**
+     * Builds an index of the given completions. Entries that only differ in case are kept once, null entries are dropped.
+     *
+     * @param completions
+     * @return
+     */
+    public static CompletionIndex of(Collection<String> completions) {
+        if (completions instanceof CompletionIndex) {
+            return (CompletionIndex) completions;
+        }
+        String[][] entries = new String[completions.size()][];
+        int size = 0;
+        for (String completion : completions) {
+            if (completion != null) {
+                entries[size++] = new String[]{completion.toLowerCase(Locale.ENGLISH), completion};
+            }
+        }
+        if (size == 0) {
+            return EMPTY;
+        }
+        Arrays.sort(entries, 0, size, Comparator.comparing(entry -> entry[0]));
+
+        String[] folded = new String[size];
+        String[] values = new String[size];
+        int unique = 0;
+        for (int i = 0; i < size; i++) {
+            if (unique > 0 && folded[unique - 1].equals(entries[i][0])) {
+                continue;
+            }
+            folded[unique] = entries[i][0];
+            values[unique++] = entries[i][1];
+        }
+        return new CompletionIndex(Arrays.copyOf(folded, unique), Arrays.copyOf(values, unique));
+    }
+
+    public static CompletionIndex of(String... completions) {
+        return of(Arrays.asList(completions));
+    }
+
+    /**
+     * Gets every completion that starts with the given input, ignoring case.
+     *
+     * @param input The text the issuer has typed so far
+     * @return A view of the matching completions, in order
+     */
+    @NotNull
+    public List<String> startingWith(String input) {
+        if (input == null || input.isEmpty()) {
+            return this;
+        }
+        String prefix = input.toLowerCase(Locale.ENGLISH);
+        int from = lowerBound(prefix);
+        int to = lowerBound(prefix + Character.MAX_VALUE);
+        return from < to ? subList(from, to) : Collections.emptyList();
+    }
+
+    private int lowerBound(String key) {
+        int index = Arrays.binarySearch(folded, key);
+        return index < 0 ? -index - 1 : index;
+    }
+
+    @Override
+    public String get(int index) {
+        return values[index];
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+}
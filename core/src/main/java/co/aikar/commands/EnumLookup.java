@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2016-2020 Daniel Ennis (Aikar) - MIT License
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining
+ *  a copy of this software and associated documentation files (the
+ *  "Software"), to deal in the Software without restriction, including
+ *  without limitation the rights to use, copy, modify, merge, publish,
+ *  distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to
+ *  the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be
+ *  included in all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *  EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *  MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *  NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ *  LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ *  OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ *  WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package co.aikar.commands;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lookup tables for an enum class, shared by context resolution and tab completion.
+ * <p>
+ * Instances are cached by {@link CommandManager#getEnumLookup(Class)}, so they are released with the manager rather
+ * than staying attached to shared enums such as a server's {@code Material}.
+ */
+final class EnumLookup {
+    private final Map<String, Enum<?>> bySimpleName;
+    private final List<String> names;
+
+    EnumLookup(Class<?> type) {
+        Enum<?>[] constants = (Enum<?>[]) type.getEnumConstants();
+        Map<String, Enum<?>> bySimpleName = new HashMap<>(constants.length * 2);
+        List<String> names = new ArrayList<>(constants.length);
+        for (Enum<?> constant : constants) {
+            bySimpleName.putIfAbsent(ACFUtil.simplifyString(constant.name()), constant);
+            names.add(constant.name());
+        }
+        this.bySimpleName = bySimpleName;
+        this.names = Collections.unmodifiableList(names);
+    }
+
+    /**
+     * Matches the input against the constant names, ignoring case and any non alphanumeric characters.
+     * The first declared constant wins if several simplify to the same name.
+     */
+    <E extends Enum<E>> E match(String input) {
+        if (input == null) {
+            return null;
+        }
+        //noinspection unchecked
+        return (E) bySimpleName.get(ACFUtil.simplifyString(input));
+    }
+
+    /**
+     * @return The constant names in declaration order
+     */
+    List<String> getNames() {
+        return names;
+    }
+}
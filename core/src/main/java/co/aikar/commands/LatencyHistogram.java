@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2016-2020 Daniel Ennis (Aikar) - MIT License
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining
+ *  a copy of this software and associated documentation files (the
+ *  "Software"), to deal in the Software without restriction, including
+ *  without limitation the rights to use, copy, modify, merge, publish,
+ *  distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to
+ *  the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be
+ *  included in all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *  EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *  MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *  NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ *  LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ *  OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ *  WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package co.aikar.commands;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A concurrent histogram of durations in nanoseconds with logarithmic buckets.
+ * <p>
+ * Every power of two is split into {@value #SUB_BUCKETS} linear buckets, which keeps any reported percentile within
+ * 25% of the recorded value while a recording is only a few shifts and one atomic increment.
+ * Durations below {@value #MIN_EXPONENT} bits (about a microsecond) share the first bucket, and anything above
+ * {@value #MAX_EXPONENT} bits (about 69 seconds) the last one.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MIN_EXPONENT = 10;
+    private static final int MAX_EXPONENT = 36;
+    private static final int BUCKETS = (MAX_EXPONENT - MIN_EXPONENT + 1) * SUB_BUCKETS;
+    private static final long[] UPPER_BOUNDS = new long[BUCKETS];
+
+    static {
+        for (int i = 0; i < BUCKETS; i++) {
+            int exponent = MIN_EXPONENT + i / SUB_BUCKETS;
+            long base = 1L << (exponent - 1);
+            UPPER_BOUNDS[i] = base + (base / SUB_BUCKETS) * (i % SUB_BUCKETS + 1) - 1;
+        }
+    }
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder count = new LongAdder();
+
+    LatencyHistogram() {
+    }
+
+    void record(long nanos) {
+        counts.incrementAndGet(bucketOf(nanos));
+        total.add(nanos);
+        count.increment();
+    }
+
+    static int bucketOf(long nanos) {
+        int exponent = 64 - Long.numberOfLeadingZeros(nanos);
+        if (exponent < MIN_EXPONENT) {
+            return 0;
+        }
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int subBucket = (int) (nanos >>> (exponent - 1 - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - MIN_EXPONENT) * SUB_BUCKETS + subBucket;
+    }
+
+    public Snapshot snapshot() {
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+        }
+        return new Snapshot(snapshot, count.sum(), total.sum());
+    }
+
+    /**
+     * A point in time copy of a {@link LatencyHistogram}. Concurrent recordings may make the count and the buckets
+     * differ slightly.
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long total;
+
+        private Snapshot(long[] counts, long count, long total) {
+            this.counts = counts;
+            this.count = count;
+            this.total = total;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return The sum of all recorded durations in nanoseconds
+         */
+        public long getTotal() {
+            return total;
+        }
+
+        /**
+         * @return The mean duration in nanoseconds, or 0 if nothing was recorded
+         */
+        public double getMean() {
+            return count == 0 ? 0 : (double) total / count;
+        }
+
+        /**
+         * Gets the upper bound of the bucket holding the given percentile.
+         *
+         * @param percentile Between 0 and 100
+         * @return The duration in nanoseconds, or 0 if nothing was recorded
+         */
+        public long getPercentile(double percentile) {
+            long recorded = 0;
+            for (long c : counts) {
+                recorded += c;
+            }
+            if (recorded == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(recorded * Math.min(100, Math.max(0, percentile)) / 100));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return UPPER_BOUNDS[i];
+                }
+            }
+            return UPPER_BOUNDS[counts.length - 1];
+        }
+
+        /**
+         * @return The inclusive upper bound in nanoseconds of every bucket, for exporters
+         */
+        public long[] getBucketUpperBounds() {
+            return UPPER_BOUNDS.clone();
+        }
+
+        /**
+         * @return The amount of recordings in every bucket, matching {@link #getBucketUpperBounds()}
+         */
+        public long[] getBucketCounts() {
+            return counts.clone();
+        }
+    }
+}
@@ -82,6 +82,10 @@ public class Locales {
     private final LocaleManager<CommandIssuer> localeManager;
     private final Map<ClassLoader, SetMultimap<String, Locale>> loadedBundles = new HashMap<>();
     private final List<ClassLoader> registeredClassLoaders = new ArrayList<>();
+    /**
+     * Bumped whenever messages or the default locale change, so compiled message templates know to recompile
+     */
+    volatile int version = 0;
 
     public Locales(CommandManager manager) {
         this.manager = manager;
@@ -98,6 +102,7 @@ public class Locales {
     }
 
     public Locale setDefaultLocale(Locale locale) {
+        version++;
         return this.localeManager.setDefaultLocale(locale);
     }
 
@@ -142,6 +147,7 @@ public class Locales {
         SetMultimap<String, Locale> classLoadersLocales = this.loadedBundles.getOrDefault(classLoader, HashMultimap.create());
         if(!classLoadersLocales.containsEntry(bundleName, locale)) {
             if(this.localeManager.addMessageBundle(classLoader, bundleName, locale)) {
+                version++;
                 classLoadersLocales.put(bundleName, locale);
                 this.loadedBundles.put(classLoader, classLoadersLocales);
                 return true;
@@ -155,6 +161,7 @@ public class Locales {
         Map<MessageKey, String> map = new HashMap<>(messages.size());
         messages.forEach((key, value) -> map.put(MessageKey.of(key), value));
         this.localeManager.addMessages(locale, map);
+        version++;
     }
 
     public void addMessages(Locale locale, @NotNull Map<? extends MessageKeyProvider, String> messages) {
@@ -164,9 +171,11 @@ public class Locales {
         }
 
         this.localeManager.addMessages(locale, messagesMap);
+        version++;
     }
 
     public String addMessage(Locale locale, MessageKeyProvider key, String message) {
+        version++;
         return this.localeManager.addMessage(locale, key.getMessageKey(), message);
     }
 
@@ -188,16 +197,18 @@ public class Locales {
     }
 
     public String replaceI18NStrings(String message) {
-        if (message == null) {
-            return null;
+        if (message == null || !message.contains("{@@")) {
+            return message;
         }
+        return replaceI18NStrings(message, CommandManager.getCurrentCommandIssuer());
+    }
+
+    String replaceI18NStrings(String message, CommandIssuer issuer) {
         Matcher matcher = ACFPatterns.I18N_STRING.matcher(message);
         if (!matcher.find()) {
             return message;
         }
 
-        CommandIssuer issuer = CommandManager.getCurrentCommandIssuer();
-
         matcher.reset();
         StringBuffer sb = new StringBuffer(message.length());
         while (matcher.find()) {
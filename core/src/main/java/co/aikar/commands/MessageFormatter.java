@@ -27,7 +27,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.regex.Matcher;
 
 /**
  * Handles formatting Messages and managing colors
@@ -36,6 +35,10 @@ import java.util.regex.Matcher;
 public abstract class MessageFormatter <FT> {
 
     private final List<FT> colors = new ArrayList<>();
+    /**
+     * Bumped whenever a color changes, so compiled message templates know to format again
+     */
+    volatile int version = 0;
 
     @SafeVarargs
     public MessageFormatter(FT... colors) {
@@ -43,6 +46,7 @@ public abstract class MessageFormatter <FT> {
 
     }
     public FT setColor(int index, FT color) {
+        version++;
         if (index > 0) {
             index--;
         } else {
@@ -84,15 +88,71 @@ public abstract class MessageFormatter <FT> {
     }
 
     public String format(String message) {
-        String def = format(1, "");
-        Matcher matcher = ACFPatterns.FORMATTER.matcher(message);
-        StringBuffer sb = new StringBuffer(message.length());
-        while (matcher.find()) {
-            Integer color = ACFUtil.parseInt(matcher.group("color"), 1);
-            String msg = format(color, matcher.group("msg")) + def;
-            matcher.appendReplacement(sb, Matcher.quoteReplacement(msg));
+        return formatColors(message, format(1, ""));
+    }
+
+    /**
+     * Replaces every {@code <cN>text</cN>} with the text formatted in color N, followed by the default color.
+     * <p>
+     * This is a hand written equivalent of matching {@link ACFPatterns#FORMATTER} against the message: the tag is
+     * case insensitive, the closing tag must repeat the same number, and the text may not span lines.
+     *
+     * @param message The message to format
+     * @param def     The message formatted with the default color
+     */
+    String formatColors(String message, String def) {
+        final int length = message.length();
+        StringBuilder sb = null;
+        int last = 0;
+        int pos = message.indexOf('<');
+        while (pos != -1 && pos + 3 < length) {
+            int digitsEnd = pos + 2;
+            char c = message.charAt(pos + 1);
+            if (c == 'c' || c == 'C') {
+                while (digitsEnd < length && message.charAt(digitsEnd) >= '0' && message.charAt(digitsEnd) <= '9') {
+                    digitsEnd++;
+                }
+            }
+            if (digitsEnd > pos + 2 && digitsEnd < length && message.charAt(digitsEnd) == '>') {
+                String digits = message.substring(pos + 2, digitsEnd);
+                int close = findClosingTag(message, digitsEnd + 1, digits);
+                if (close != -1) {
+                    if (sb == null) {
+                        sb = new StringBuilder(length + 16);
+                    }
+                    Integer color = ACFUtil.parseInt(digits, 1);
+                    sb.append(message, last, pos)
+                            .append(format(color, message.substring(digitsEnd + 1, close)))
+                            .append(def);
+                    last = close + digits.length() + 4;
+                    pos = message.indexOf('<', last);
+                    continue;
+                }
+            }
+            pos = message.indexOf('<', pos + 1);
+        }
+        if (sb == null) {
+            return def + message;
         }
-        matcher.appendTail(sb);
+        sb.append(message, last, length);
         return def + sb.toString();
     }
+
+    private static int findClosingTag(String message, int from, String digits) {
+        final int length = message.length();
+        for (int i = from; i < length; i++) {
+            char c = message.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return -1;
+            }
+            if (c == '<' && i + digits.length() + 3 < length
+                    && message.charAt(i + 1) == '/'
+                    && (message.charAt(i + 2) == 'c' || message.charAt(i + 2) == 'C')
+                    && message.startsWith(digits, i + 3)
+                    && message.charAt(i + digits.length() + 3) == '>') {
+                return i;
+            }
+        }
+        return -1;
+    }
 }
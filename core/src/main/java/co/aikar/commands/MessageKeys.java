@@ -58,6 +58,9 @@ public enum MessageKeys implements MessageKeyProvider {
     HELP_DETAILED_COMMAND_FORMAT,
     HELP_DETAILED_PARAMETER_FORMAT,
     HELP_SEARCH_HEADER,
+    COMMAND_TIMED_OUT,
+    TOO_MANY_PENDING_COMMANDS,
+    COMMAND_ON_COOLDOWN,
     ;
 
     private final MessageKey key = MessageKey.of("acf-core." + this.name().toLowerCase(Locale.ENGLISH));
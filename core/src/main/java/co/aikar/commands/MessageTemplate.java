@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2016-2020 Daniel Ennis (Aikar) - MIT License
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining
+ *  a copy of this software and associated documentation files (the
+ *  "Software"), to deal in the Software without restriction, including
+ *  without limitation the rights to use, copy, modify, merge, publish,
+ *  distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to
+ *  the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be
+ *  included in all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *  EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *  MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *  NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ *  LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ *  OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ *  WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+
+package co.aikar.commands;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A locale message compiled for one {@link MessageType}.
+ * <p>
+ * The message is split into literal runs and {@code {placeholder}} slots once. Command replacements and
+ * {@code {@@key}} strings are applied to the literal runs at compile time, so formatting a message only has to fill
+ * the slots and apply the colors. Messages without slots are formatted completely at compile time.
+ * <p>
+ * A template records the versions of the locales, replacements and formatter it was compiled against, and is
+ * recompiled once any of them change.
+ */
+final class MessageTemplate {
+    private final String[] literals;
+    private final String[] slots;
+    private final String formatted;
+    private final MessageFormatter<?> formatter;
+    private final String def;
+
+    private final int localesVersion;
+    private final int replacementsVersion;
+    private final int formatterVersion;
+
+    private MessageTemplate(String[] literals, String[] slots, MessageFormatter<?> formatter,
+                            int localesVersion, int replacementsVersion, int formatterVersion) {
+        this.literals = literals;
+        this.slots = slots;
+        this.formatter = formatter;
+        this.def = formatter != null ? formatter.format(1, "") : null;
+        this.localesVersion = localesVersion;
+        this.replacementsVersion = replacementsVersion;
+        this.formatterVersion = formatterVersion;
+        this.formatted = slots.length == 0 ? applyFormat(literals[0]) : null;
+    }
+
+    static MessageTemplate compile(CommandManager manager, CommandIssuer issuer, MessageFormatter<?> formatter, String message) {
+        // read the versions first, so a change while compiling leaves this template stale
+        Locales locales = manager.getLocales();
+        CommandReplacements replacements = manager.getCommandReplacements();
+        int localesVersion = locales.version;
+        int replacementsVersion = replacements.version;
+        int formatterVersion = formatter != null ? formatter.version : 0;
+
+        List<String> literals = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        int last = 0;
+        int pos = 0;
+        while ((pos = message.indexOf('{', pos)) != -1) {
+            int end = message.indexOf('}', pos + 1);
+            if (end == -1) {
+                break;
+            }
+            int nested = message.indexOf('{', pos + 1);
+            boolean replacement = pos > 0 && message.charAt(pos - 1) == '%';
+            if (replacement || message.startsWith("{@@", pos) || (nested != -1 && nested < end)) {
+                pos++;
+                continue;
+            }
+            literals.add(message.substring(last, pos));
+            slots.add(message.substring(pos, end + 1));
+            last = pos = end + 1;
+        }
+        literals.add(message.substring(last));
+
+        String[] compiled = new String[literals.size()];
+        for (int i = 0; i < compiled.length; i++) {
+            String literal = replacements.replace(literals.get(i));
+            compiled[i] = locales.replaceI18NStrings(literal, issuer);
+        }
+        return new MessageTemplate(compiled, slots.toArray(new String[0]), formatter,
+                localesVersion, replacementsVersion, formatterVersion);
+    }
+
+    boolean isCurrent(CommandManager manager, MessageFormatter<?> formatter) {
+        return this.formatter == formatter
+                && (formatter == null || formatter.version == this.formatterVersion)
+                && manager.getLocales().version == this.localesVersion
+                && manager.getCommandReplacements().version == this.replacementsVersion;
+    }
+
+    /**
+     * Formats the message with the given placeholder replacements.
+     *
+     * @param replacements Pairs of {@code {placeholder}} and value, as passed to
+     *                     {@link CommandManager#formatMessage(CommandIssuer, MessageType, co.aikar.locales.MessageKeyProvider, String...)}
+     * @return The formatted message, or null if these replacements have to go through the full replacement pipeline
+     */
+    @Nullable
+    String format(String... replacements) {
+        if (replacements.length == 0) {
+            return formatted != null ? formatted : applyFormat(fill(new String[slots.length]));
+        }
+        if (replacements.length % 2 != 0) {
+            return null;
+        }
+
+        String[] values = new String[slots.length];
+        for (int i = 0; i < replacements.length; i += 2) {
+            String key = replacements[i];
+            String value = replacements[i + 1];
+            if (!isPlaceholder(key) || (value != null && (value.indexOf('{') != -1 || value.indexOf('%') != -1))) {
+                // the value could be picked up by a later placeholder, replacement or i18n key
+                return null;
+            }
+            for (int slot = 0; slot < slots.length; slot++) {
+                if (values[slot] == null && slots[slot].equals(key)) {
+                    values[slot] = value == null ? "" : value;
+                }
+            }
+        }
+        if (formatted != null) {
+            return formatted;
+        }
+        return applyFormat(fill(values));
+    }
+
+    private String fill(String[] values) {
+        StringBuilder sb = new StringBuilder(64);
+        for (int i = 0; i < slots.length; i++) {
+            sb.append(literals[i]).append(values[i] != null ? values[i] : slots[i]);
+        }
+        return sb.append(literals[slots.length]).toString();
+    }
+
+    private String applyFormat(String message) {
+        return formatter != null ? formatter.formatColors(message, def) : message;
+    }
+
+    private static boolean isPlaceholder(String key) {
+        int length = key.length();
+        return length > 2 && key.charAt(0) == '{' && key.charAt(length - 1) == '}'
+                && key.indexOf('{', 1) == -1 && key.indexOf('}') == length - 1;
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2016-2020 Daniel Ennis (Aikar) - MIT License
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining
+ *  a copy of this software and associated documentation files (the
+ *  "Software"), to deal in the Software without restriction, including
+ *  without limitation the rights to use, copy, modify, merge, publish,
+ *  distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to
+ *  the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be
+ *  included in all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *  EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *  MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *  NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ *  LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ *  OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ *  WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package co.aikar.commands;
+
+import co.aikar.commands.annotation.Flags;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * The {@link Flags} of a {@link CommandParameter}, parsed once when the command is registered.
+ * <p>
+ * The flags used by the built in resolvers are stored as validated primitive fields, and every other flag value is
+ * parsed into each number type up front, so resolving an argument never parses flag strings again.
+ */
+public final class ParameterFlags {
+    private final Map<String, Value> values;
+    private final List<String> invalid = new ArrayList<>();
+    private final boolean suffixes;
+    private final double min;
+    private final double max;
+    private final int minLength;
+    private final int maxLength;
+    private final int perPage;
+    private final Pattern splitter;
+
+    ParameterFlags(Map<String, String> flags) {
+        Map<String, Value> values = new HashMap<>();
+        for (Map.Entry<String, String> flag : flags.entrySet()) {
+            values.put(flag.getKey(), new Value(flag.getValue()));
+        }
+        this.values = values;
+        this.suffixes = flags.containsKey("suffixes");
+        this.min = doubleFlag("min", Double.NEGATIVE_INFINITY);
+        this.max = doubleFlag("max", Double.POSITIVE_INFINITY);
+        this.minLength = intFlag("minlen", 0);
+        this.maxLength = intFlag("maxlen", Integer.MAX_VALUE);
+        this.perPage = intFlag("perpage", -1);
+        String splitter = flags.get("splitter");
+        this.splitter = splitter != null ? Pattern.compile(Pattern.quote(splitter)) : null;
+    }
+
+    private double doubleFlag(String flag, double def) {
+        Value value = values.get(flag);
+        if (value == null) {
+            return def;
+        }
+        if (value.doubleValue == null) {
+            invalid.add(flag);
+            return def;
+        }
+        return value.doubleValue;
+    }
+
+    private int intFlag(String flag, int def) {
+        Value value = values.get(flag);
+        if (value == null) {
+            return def;
+        }
+        if (value.intValue == null) {
+            invalid.add(flag);
+            return def;
+        }
+        return value.intValue;
+    }
+
+    /**
+     * @return The well known flags that were set to a value that is not a number, and are therefore ignored
+     */
+    List<String> getInvalidFlags() {
+        return Collections.unmodifiableList(invalid);
+    }
+
+    public boolean hasSuffixes() {
+        return suffixes;
+    }
+
+    /**
+     * @return The min flag, or the given default if it is not set
+     */
+    public double getMin(double def) {
+        return min != Double.NEGATIVE_INFINITY ? min : def;
+    }
+
+    /**
+     * @return The max flag, or the given default if it is not set
+     */
+    public double getMax(double def) {
+        return max != Double.POSITIVE_INFINITY ? max : def;
+    }
+
+    public int getMinLength() {
+        return minLength;
+    }
+
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    /**
+     * @return The perpage flag, or the given default if it is not set
+     */
+    public int getPerPage(int def) {
+        return perPage != -1 ? perPage : def;
+    }
+
+    /**
+     * @return A pattern splitting on the literal splitter flag, or the given default if it is not set
+     */
+    public Pattern getSplitter(Pattern def) {
+        return splitter != null ? splitter : def;
+    }
+
+    Integer getInt(String flag) {
+        Value value = values.get(flag);
+        return value != null ? value.intValue : null;
+    }
+
+    Long getLong(String flag) {
+        Value value = values.get(flag);
+        return value != null ? value.longValue : null;
+    }
+
+    Float getFloat(String flag) {
+        Value value = values.get(flag);
+        return value != null ? value.floatValue : null;
+    }
+
+    Double getDouble(String flag) {
+        Value value = values.get(flag);
+        return value != null ? value.doubleValue : null;
+    }
+
+    Boolean getBoolean(String flag) {
+        Value value = values.get(flag);
+        return value != null && value.raw != null ? value.truthy : null;
+    }
+
+    private static final class Value {
+        private final String raw;
+        private final Integer intValue;
+        private final Long longValue;
+        private final Float floatValue;
+        private final Double doubleValue;
+        private final boolean truthy;
+
+        private Value(String raw) {
+            this.raw = raw;
+            this.intValue = ACFUtil.parseInt(raw);
+            this.longValue = ACFUtil.parseLong(raw);
+            this.floatValue = ACFUtil.parseFloat(raw);
+            this.doubleValue = ACFUtil.parseDouble(raw);
+            this.truthy = raw != null && ACFUtil.isTruthy(raw);
+        }
+    }
+}
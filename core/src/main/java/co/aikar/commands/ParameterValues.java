@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2016-2020 Daniel Ennis (Aikar) - MIT License
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining
+ *  a copy of this software and associated documentation files (the
+ *  "Software"), to deal in the Software without restriction, including
+ *  without limitation the rights to use, copy, modify, merge, publish,
+ *  distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to
+ *  the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be
+ *  included in all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *  EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *  MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *  NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ *  LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ *  OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ *  WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package co.aikar.commands;
+
+import co.aikar.commands.annotation.Values;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * The {@link Values} of a {@link CommandParameter}, compiled for validating input.
+ * <p>
+ * Plain values are folded into a lower cased set once, so checking them is a single hash lookup. Tokens that name a
+ * completion, such as @players or *, are kept aside and only asked for their values when the input is not one of
+ * the plain values. Those go through the completion handler as usual, so completions registered with a
+ * {@link CompletionCachePolicy} are served from their cache.
+ */
+final class ParameterValues {
+    private final int completionsEpoch;
+    private final int replacementsVersion;
+    private final Set<String> values;
+    private final String[] completions;
+    private final String validValues;
+
+    private ParameterValues(int completionsEpoch, int replacementsVersion, Set<String> values, String[] completions) {
+        this.completionsEpoch = completionsEpoch;
+        this.replacementsVersion = replacementsVersion;
+        this.values = values;
+        this.completions = completions;
+        this.validValues = completions.length == 0 ? ACFUtil.join(values, ", ") : null;
+    }
+
+    static ParameterValues compile(CommandManager manager, String[] tokens) {
+        CommandCompletions<?> commandCompletions = manager.getCommandCompletions();
+        CommandReplacements replacements = manager.getCommandReplacements();
+        int completionsEpoch = commandCompletions.epoch;
+        int replacementsVersion = replacements.version;
+
+        Set<String> values = new LinkedHashSet<>();
+        List<String> completions = new ArrayList<>();
+        for (String token : tokens) {
+            if ("*".equals(token) || "@completions".equals(token) || isCompletion(commandCompletions, replacements.replace(token))) {
+                completions.add(token);
+            } else {
+                for (String value : ACFPatterns.PIPE.split(replacements.replace(token))) {
+                    values.add(value.toLowerCase(Locale.ENGLISH));
+                }
+            }
+        }
+        return new ParameterValues(completionsEpoch, replacementsVersion, values, completions.toArray(new String[0]));
+    }
+
+    private static boolean isCompletion(CommandCompletions<?> commandCompletions, String token) {
+        if (token.startsWith("repeat@")) {
+            return true;
+        }
+        for (String value : ACFPatterns.PIPE.split(token)) {
+            if (commandCompletions.isCompletionHandler(ACFPatterns.COLONEQUALS.split(value, 2)[0])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return Whether completions or replacements were registered since this was compiled
+     */
+    boolean isStale(CommandManager manager) {
+        return completionsEpoch != manager.getCommandCompletions().epoch
+                || replacementsVersion != manager.getCommandReplacements().version;
+    }
+
+    /**
+     * @param original All arguments of the command, only needed if the values include completions
+     */
+    void validate(RegisteredCommand command, CommandIssuer sender, String arg, List<String> original, boolean isAsync) throws InvalidCommandArgument {
+        String input = arg.toLowerCase(Locale.ENGLISH);
+        if (values.contains(input)) {
+            return;
+        }
+        if (completions.length == 0) {
+            throw new InvalidCommandArgument(MessageKeys.PLEASE_SPECIFY_ONE_OF, "{valid}", validValues);
+        }
+
+        String[] origArgs = original.toArray(new String[0]);
+        Set<String> possible = new HashSet<>(values);
+        CommandCompletions commandCompletions = command.manager.getCommandCompletions();
+        for (String s : completions) {
+            if ("*".equals(s) || "@completions".equals(s)) {
+                s = commandCompletions.findDefaultCompletion(command, origArgs);
+            }
+            //noinspection unchecked
+            List<String> check = commandCompletions.getCompletionValues(command, sender, s, origArgs, isAsync);
+            if (check.isEmpty()) {
+                check = Collections.singletonList(s);
+            }
+            for (String value : check) {
+                if (value == null) {
+                    continue;
+                }
+                if (value.equalsIgnoreCase(arg)) {
+                    return;
+                }
+                possible.add(value.toLowerCase(Locale.ENGLISH));
+            }
+        }
+        throw new InvalidCommandArgument(MessageKeys.PLEASE_SPECIFY_ONE_OF, "{valid}", ACFUtil.join(possible, ", "));
+    }
+}
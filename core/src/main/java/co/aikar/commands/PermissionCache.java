@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2016-2020 Daniel Ennis (Aikar) - MIT License
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining
+ *  a copy of this software and associated documentation files (the
+ *  "Software"), to deal in the Software without restriction, including
+ *  without limitation the rights to use, copy, modify, merge, publish,
+ *  distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to
+ *  the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be
+ *  included in all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *  EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *  MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *  NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ *  LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ *  OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ *  WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+
+package co.aikar.commands;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Remembers permission decisions per issuer for a short time.
+ * <p>
+ * Tab completion, help and the root command checks ask for the same permission nodes many times for a single
+ * keystroke, and with permission plugins each of those checks can be costly. When enabled with
+ * {@link #setTtl(long, TimeUnit)}, the result of {@link CommandIssuer#hasPermission(String)} is kept per
+ * {@link CommandIssuer#getPermissionCacheKey()} and node until the TTL runs out or the issuer is invalidated.
+ * Issuers without a cache key, such as JDA users whose permissions depend on the guild, are always checked.
+ * <p>
+ * The platform managers invalidate issuers on the events where their permissions are recalculated, such as
+ * joining, quitting or switching worlds or servers. Plugins that change permissions at other times, or listen to
+ * their permission plugin's recalculation events, should call {@link #invalidate(UUID)} or {@link #invalidateAll()}.
+ * Issuers whose decisions have all expired are dropped as well, at most once per TTL, so issuers that are never
+ * invalidated do not stay in memory.
+ * <p>
+ * Permission nodes get a numeric id the first time they are seen. Nodes of registered commands always do, but only
+ * up to 4096 other nodes are remembered; checks of any further nodes are not cached.
+ * <p>
+ * The cache is disabled by default.
+ */
+public final class PermissionCache {
+    private static final byte UNKNOWN = 0;
+    private static final byte DENIED = 1;
+    private static final byte ALLOWED = 2;
+    private static final int MAX_NODES = 4096;
+
+    private final Map<String, Integer> nodeIds = new ConcurrentHashMap<>();
+    private final AtomicInteger nextNodeId = new AtomicInteger();
+    private final Map<UUID, Decisions> issuers = new ConcurrentHashMap<>();
+    private volatile long ttlNanos = 0;
+    private volatile long nextSweep = System.nanoTime();
+
+    PermissionCache() {
+    }
+
+    /**
+     * Sets how long a permission decision is remembered. A duration of 0 disables the cache.
+     *
+     * @param duration The time to remember decisions for
+     * @param unit     The unit of the duration
+     */
+    public void setTtl(long duration, @NotNull TimeUnit unit) {
+        if (duration < 0) {
+            throw new IllegalArgumentException("TTL may not be negative");
+        }
+        this.ttlNanos = unit.toNanos(duration);
+        invalidateAll();
+    }
+
+    public long getTtl(@NotNull TimeUnit unit) {
+        return unit.convert(ttlNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public boolean isEnabled() {
+        return ttlNanos > 0;
+    }
+
+    /**
+     * Forgets all decisions made for the issuer, e.g. because their permissions were recalculated.
+     *
+     * @param issuer The unique id of the issuer
+     */
+    public void invalidate(@NotNull UUID issuer) {
+        issuers.remove(issuer);
+    }
+
+    /**
+     * Forgets all decisions for every issuer.
+     */
+    public void invalidateAll() {
+        issuers.clear();
+    }
+
+    /**
+     * Assigns ids to permission nodes ahead of time, so checks only have to look the id up.
+     */
+    void intern(Collection<String> nodes) {
+        for (String node : nodes) {
+            nodeIds.computeIfAbsent(node, n -> nextNodeId.getAndIncrement());
+        }
+    }
+
+    /**
+     * @return The id of the node, or -1 if it is not known and too many nodes are known already
+     */
+    private int lookup(String node) {
+        Integer id = nodeIds.get(node);
+        if (id == null) {
+            if (nodeIds.size() >= MAX_NODES) {
+                return -1;
+            }
+            id = nodeIds.computeIfAbsent(node, n -> nextNodeId.getAndIncrement());
+        }
+        return id;
+    }
+
+    /**
+     * Drops the issuers whose decisions have all expired, unless that was done within the last TTL already.
+     */
+    private void sweep(long now, long ttl) {
+        if (now - nextSweep < 0) {
+            return;
+        }
+        nextSweep = now + ttl;
+        issuers.values().removeIf(decisions -> decisions.isExpired(now));
+    }
+
+    int getCachedIssuers() {
+        return issuers.size();
+    }
+
+    boolean hasPermission(CommandIssuer issuer, String node) {
+        final long ttl = this.ttlNanos;
+        if (ttl <= 0) {
+            return issuer.hasPermission(node);
+        }
+        final UUID key = issuer.getPermissionCacheKey();
+        if (key == null) {
+            return issuer.hasPermission(node);
+        }
+
+        final int id = lookup(node);
+        if (id < 0) {
+            return issuer.hasPermission(node);
+        }
+        final long now = System.nanoTime();
+        sweep(now, ttl);
+        Decisions decisions = issuers.computeIfAbsent(key, uuid -> new Decisions(now + ttl));
+        byte state = decisions.get(id, now);
+        if (state != UNKNOWN) {
+            return state == ALLOWED;
+        }
+
+        boolean allowed = issuer.hasPermission(node);
+        decisions.put(id, allowed ? ALLOWED : DENIED, now + ttl);
+        return allowed;
+    }
+
+    /**
+     * The decisions of one issuer, indexed by node id.
+     */
+    private static final class Decisions {
+        private byte[] states = new byte[16];
+        private long[] expires = new long[16];
+        private long lastExpires;
+
+        private Decisions(long lastExpires) {
+            this.lastExpires = lastExpires;
+        }
+
+        synchronized boolean isExpired(long now) {
+            return now - lastExpires >= 0;
+        }
+
+        synchronized byte get(int id, long now) {
+            if (id >= states.length || now - expires[id] >= 0) {
+                return UNKNOWN;
+            }
+            return states[id];
+        }
+
+        synchronized void put(int id, byte state, long expiresAt) {
+            if (id >= states.length) {
+                int size = Math.max(id + 1, states.length * 2);
+                states = Arrays.copyOf(states, size);
+                expires = Arrays.copyOf(expires, size);
+            }
+            states[id] = state;
+            expires[id] = expiresAt;
+            if (expiresAt - lastExpires > 0) {
+                lastExpires = expiresAt;
+            }
+        }
+    }
+}
@@ -23,6 +23,7 @@
 
 package co.aikar.commands;
 
+import co.aikar.commands.annotation.Async;
 import co.aikar.commands.annotation.CommandAlias;
 import co.aikar.commands.annotation.CommandCompletion;
 import co.aikar.commands.annotation.CommandPermission;
@@ -31,6 +32,7 @@ import co.aikar.commands.annotation.Description;
 import co.aikar.commands.annotation.HelpSearchTags;
 import co.aikar.commands.annotation.Private;
 import co.aikar.commands.annotation.Syntax;
+import co.aikar.commands.annotation.Timeout;
 import co.aikar.commands.contexts.ContextResolver;
 import org.jetbrains.annotations.Nullable;
 
@@ -41,23 +43,26 @@ import java.lang.reflect.Parameter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
+import java.util.Stack;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
-import java.util.stream.Collectors;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 @SuppressWarnings("WeakerAccess")
 public class RegisteredCommand<CEC extends CommandExecutionContext<CEC, ? extends CommandIssuer>> {
     final BaseCommand scope;
     final Method method;
+    final CommandInvoker invoker;
     final CommandParameter<CEC>[] parameters;
+    private final Map<String, CommandParameter<CEC>> parametersByName = new HashMap<>();
     final CommandManager manager;
     final List<String> registeredSubcommands = new ArrayList<>();
 
@@ -68,9 +73,22 @@ public class RegisteredCommand<CEC extends CommandExecutionContext<CEC, ? extend
     String permission;
     String complete;
     String conditions;
+    CommandConditions.ConditionChain conditionChain;
     public String helpSearchTags;
 
     boolean isPrivate;
+    final boolean async;
+    /**
+     * Whether this command has to be tracked by the {@link AsyncCommandTracker}
+     */
+    final boolean tracked;
+    /**
+     * Timeout of a returned {@link CompletionStage} in milliseconds, or -1 to use the tracker's default
+     */
+    final long timeout;
+    @Nullable
+    final CommandCooldowns.Limit cooldown;
+    volatile CommandMetrics.Recorder metrics = new CommandMetrics.Recorder();
 
     final int requiredResolvers;
     final int consumeInputResolvers;
@@ -90,6 +108,7 @@ public class RegisteredCommand<CEC extends CommandExecutionContext<CEC, ? extend
         }
         this.command = command + (!annotations.hasAnnotation(method, CommandAlias.class, false) && !prefSubCommand.isEmpty() ? prefSubCommand : "");
         this.method = method;
+        this.invoker = CommandInvoker.of(method);
         this.prefSubCommand = prefSubCommand;
 
         this.permission = annotations.getAnnotationValue(method, CommandPermission.class, Annotations.REPLACEMENTS | Annotations.NO_EMPTY);
@@ -104,6 +123,15 @@ public class RegisteredCommand<CEC extends CommandExecutionContext<CEC, ? extend
         this.parameters = new CommandParameter[parameters.length];
 
         this.isPrivate = annotations.hasAnnotation(method, Private.class) || annotations.getAnnotationFromClass(scope.getClass(), Private.class) != null;
+        this.async = annotations.hasAnnotation(method, Async.class) || annotations.getAnnotationFromClass(scope.getClass(), Async.class) != null;
+        this.tracked = this.async || CompletionStage.class.isAssignableFrom(method.getReturnType());
+        String timeout = annotations.getAnnotationValue(method, Timeout.class, Annotations.REPLACEMENTS | Annotations.NO_EMPTY);
+        if (timeout == null) {
+            Timeout classTimeout = annotations.getAnnotationFromClass(scope.getClass(), Timeout.class);
+            timeout = classTimeout != null ? classTimeout.value() : null;
+        }
+        this.timeout = timeout != null ? ACFUtil.parseDuration(timeout) : -1;
+        this.cooldown = this.manager.getCommandCooldowns().createLimit(this);
 
         int requiredResolvers = 0;
         int consumeInputResolvers = 0;
@@ -113,6 +141,7 @@ public class RegisteredCommand<CEC extends CommandExecutionContext<CEC, ? extend
         CommandParameter<CEC> previousParam = null;
         for (int i = 0; i < parameters.length; i++) {
             CommandParameter<CEC> parameter = this.parameters[i] = new CommandParameter<>(this, parameters[i], i, i == parameters.length - 1);
+            this.parametersByName.put(parameter.getName(), parameter);
             if (previousParam != null) {
                 previousParam.setNextParam(parameter);
             }
@@ -144,26 +173,123 @@ public class RegisteredCommand<CEC extends CommandExecutionContext<CEC, ? extend
             return;
         }
         preCommand();
+        boolean handedOff = false;
+        AsyncCommandTracker.PendingCommand pending = null;
+        CommandMetrics metrics = this.manager.getCommandMetrics();
+        long time = metrics.start();
+        if (time != 0) {
+            this.metrics.executions.increment();
+        }
         try {
             this.manager.getCommandConditions().validateConditions(context);
-            Map<String, Object> passedArgs = resolveContexts(sender, args);
+            time = metrics.record(this, CommandMetrics.Phase.CONDITIONS, time);
+            ArgumentFrame passedArgs = resolveContexts(sender, args);
+            time = metrics.record(this, CommandMetrics.Phase.CONTEXTS, time);
             if (passedArgs == null) return;
 
-            Object obj = method.invoke(scope, passedArgs.values().toArray());
-            if (obj instanceof CompletionStage<?>) {
-                CompletionStage<?> future = (CompletionStage<?>) obj;
-                future.exceptionally(t -> {
-                    handleException(sender, args, t);
-                    return null;
-                });
+            if (this.tracked) {
+                pending = this.manager.getAsyncCommandTracker().begin(sender, this, context.getCommandLabel());
+                if (pending == null) {
+                    sender.sendMessage(MessageType.ERROR, MessageKeys.TOO_MANY_PENDING_COMMANDS);
+                    return;
+                }
+            }
+
+            Executor asyncExecutor = this.async ? this.manager.getAsyncCommandExecutor() : null;
+            if (asyncExecutor != null) {
+                context.mainThreadExecutor = this.manager.getMainThreadExecutor();
+                final AsyncCommandTracker.PendingCommand asyncPending = pending;
+                asyncExecutor.execute(() -> invokeAsync(sender, args, context, passedArgs, asyncPending));
+                handedOff = true;
+                return;
+            }
+
+            Object obj = invoker.invoke(scope, passedArgs);
+            metrics.record(this, CommandMetrics.Phase.INVOKE, time);
+            if (track(obj, pending, t -> handleException(sender, args, t), null)) {
+                pending = null;
             }
         } catch (Exception e) {
             handleException(sender, args, e);
         } finally {
+            if (!handedOff && pending != null) {
+                pending.complete();
+            }
+            // Always on the calling thread, so platform hooks such as timings never run off the main thread
             postCommand();
         }
     }
 
+    /**
+     * Runs the body of an {@link Async} command once its contexts have been resolved.
+     * Failures, and the completion of a returned {@link CompletionStage}, are handled back on the main thread.
+     * {@link #postCommand()} is called on the main thread at the handoff, never from here.
+     */
+    private void invokeAsync(CommandIssuer sender, List<String> args, CommandOperationContext context, ArgumentFrame passedArgs,
+                             AsyncCommandTracker.PendingCommand pending) {
+        Executor mainThread = context.mainThreadExecutor;
+        Stack<CommandOperationContext> contexts = CommandManager.commandOperationContext.get();
+        contexts.push(context);
+        CommandMetrics metrics = this.manager.getCommandMetrics();
+        long time = metrics.start();
+        try {
+            Object obj = invoker.invoke(scope, passedArgs);
+            metrics.record(this, CommandMetrics.Phase.INVOKE, time);
+            if (track(obj, pending, t -> handleExceptionInContext(sender, args, context, t), mainThread)) {
+                pending = null;
+            }
+        } catch (Exception e) {
+            mainThread.execute(() -> handleExceptionInContext(sender, args, context, e));
+        } finally {
+            if (pending != null) {
+                pending.complete();
+            }
+            contexts.pop();
+        }
+    }
+
+    /**
+     * Follows a {@link CompletionStage} returned by a command, handing failures to the handler unless the
+     * command was cancelled or timed out.
+     *
+     * @return true if the result was a stage, which now owns completing the pending command
+     */
+    private boolean track(Object result, @Nullable AsyncCommandTracker.PendingCommand pending,
+                          Consumer<Throwable> failureHandler, @Nullable Executor executor) {
+        if (!(result instanceof CompletionStage<?>)) {
+            return false;
+        }
+        CompletionStage<?> future = (CompletionStage<?>) result;
+        BiConsumer<Object, Throwable> onComplete = (value, t) -> {
+            boolean cancelled = pending != null && pending.isCancelled();
+            if (pending != null) {
+                pending.complete();
+            }
+            if (t != null && !cancelled) {
+                failureHandler.accept(t);
+            }
+        };
+        if (pending != null) {
+            pending.track(future, this.timeout);
+        }
+        if (executor != null) {
+            future.whenCompleteAsync(onComplete, executor);
+        } else {
+            future.whenComplete(onComplete);
+        }
+        return true;
+    }
+
+    private void handleExceptionInContext(CommandIssuer sender, List<String> args, CommandOperationContext context, Throwable e) {
+        Stack<CommandOperationContext> contexts = CommandManager.commandOperationContext.get();
+        contexts.push(context);
+        try {
+            handleException(sender, args, e);
+        } finally {
+            contexts.pop();
+        }
+    }
+
     public void preCommand() {
     }
 
@@ -182,6 +308,9 @@ public class RegisteredCommand<CEC extends CommandExecutionContext<CEC, ? extend
             }
             commandHelp.showHelp(sender);
         } else if (e instanceof InvalidCommandArgument) {
+            if (this.manager.getCommandMetrics().isEnabled()) {
+                this.metrics.invalidUsages.increment();
+            }
             InvalidCommandArgument invalidCommandArg = (InvalidCommandArgument) e;
             if (invalidCommandArg.key != null) {
                 sender.sendMessage(MessageType.ERROR, invalidCommandArg.key, invalidCommandArg.replacements);
@@ -192,6 +321,9 @@ public class RegisteredCommand<CEC extends CommandExecutionContext<CEC, ? extend
                 scope.showSyntax(sender, this);
             }
         } else {
+            if (this.manager.getCommandMetrics().isEnabled()) {
+                this.metrics.errors.increment();
+            }
             try {
                 if (!this.manager.handleUncaughtException(scope, this, sender, args, e)) {
                     sender.sendMessage(MessageType.ERROR, MessageKeys.ERROR_PERFORMING_COMMAND);
@@ -208,15 +340,15 @@ public class RegisteredCommand<CEC extends CommandExecutionContext<CEC, ? extend
     }
 
     @Nullable
-    Map<String, Object> resolveContexts(CommandIssuer sender, List<String> args) throws InvalidCommandArgument {
+    ArgumentFrame resolveContexts(CommandIssuer sender, List<String> args) throws InvalidCommandArgument {
         return resolveContexts(sender, args, null);
     }
 
     @Nullable
-    Map<String, Object> resolveContexts(CommandIssuer sender, List<String> args, String name) throws InvalidCommandArgument {
-        args = new ArrayList<>(args);
-        String[] origArgs = args.toArray(new String[args.size()]);
-        Map<String, Object> passedArgs = new LinkedHashMap<>();
+    ArgumentFrame resolveContexts(CommandIssuer sender, List<String> args, String name) throws InvalidCommandArgument {
+        final ArgumentList original = ArgumentList.copyOf(args);
+        args = original.copy();
+        ArgumentFrame passedArgs = new ArgumentFrame(this);
         int remainingRequired = requiredResolvers;
         CommandOperationContext opContext = CommandManager.getCurrentCommandOperationContext();
         for (int i = 0; i < parameters.length && (name == null || !passedArgs.containsKey(name)); i++) {
@@ -251,7 +383,7 @@ public class RegisteredCommand<CEC extends CommandExecutionContext<CEC, ? extend
                     }
                     //noinspection unchecked
                     this.manager.getCommandConditions().validateConditions(context, value);
-                    passedArgs.put(parameterName, value);
+                    passedArgs.set(i, value);
                     continue;
                 } else if (requiresInput) {
                     scope.showSyntax(sender, this);
@@ -266,37 +398,32 @@ public class RegisteredCommand<CEC extends CommandExecutionContext<CEC, ? extend
 
             if (parameter.getValues() != null) {
                 String arg = !args.isEmpty() ? args.get(0) : "";
-
-                Set<String> possible = new HashSet<>();
-                CommandCompletions commandCompletions = this.manager.getCommandCompletions();
-                for (String s : parameter.getValues()) {
-                    if ("*".equals(s) || "@completions".equals(s)) {
-                        s = commandCompletions.findDefaultCompletion(this, origArgs);
-                    }
-                    //noinspection unchecked
-                    List<String> check = commandCompletions.getCompletionValues(this, sender, s, origArgs, opContext.isAsync());
-                    if (!check.isEmpty()) {
-                        possible.addAll(check.stream().filter(Objects::nonNull).
-                                map(String::toLowerCase).collect(Collectors.toList()));
-                    } else {
-                        possible.add(s.toLowerCase(Locale.ENGLISH));
-                    }
-                }
-                if (!possible.contains(arg.toLowerCase(Locale.ENGLISH))) {
-                    throw new InvalidCommandArgument(MessageKeys.PLEASE_SPECIFY_ONE_OF,
-                            "{valid}", ACFUtil.join(possible, ", "));
+                ParameterValues values = parameter.compiledValues;
+                if (values == null || values.isStale(this.manager)) {
+                    values = parameter.compiledValues = ParameterValues.compile(this.manager, parameter.getValues());
                 }
+                values.validate(this, sender, arg, original, opContext.isAsync());
             }
 
+            if (passedArgs.resolvePrimitive(i, resolver, context)) {
+                //noinspection unchecked
+                this.manager.getCommandConditions().validateConditions(context, passedArgs, i);
+                continue;
+            }
             Object paramValue = resolver.getContext(context);
 
             //noinspection unchecked
             this.manager.getCommandConditions().validateConditions(context, paramValue);
-            passedArgs.put(parameterName, paramValue);
+            passedArgs.set(i, paramValue);
         }
         return passedArgs;
     }
 
+    @Nullable
+    CommandParameter<CEC> getParameter(Object name) {
+        return parametersByName.get(name);
+    }
+
     boolean hasPermission(CommandIssuer issuer) {
         return this.manager.hasPermission(issuer, getRequiredPermissions());
     }
@@ -319,6 +446,7 @@ public class RegisteredCommand<CEC extends CommandExecutionContext<CEC, ? extend
         if (this.permission != null && !this.permission.isEmpty()) {
             this.permissions.addAll(Arrays.asList(ACFPatterns.COMMA.split(this.permission)));
         }
+        this.manager.getPermissionCache().intern(this.permissions);
     }
 
     public Set<String> getRequiredPermissions() {
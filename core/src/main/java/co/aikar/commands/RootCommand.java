@@ -43,11 +43,24 @@ public interface RootCommand {
 
     String getCommandName();
 
+    /**
+     * @return The trie used to route input to the entries of {@link #getSubCommands()}. If null, routing falls back to
+     * looking up every prefix of the input in the subcommand map.
+     */
+    default SubcommandTrie getSubcommandTrie() {
+        return null;
+    }
+
     default void addChildShared(List<BaseCommand> children, SetMultimap<String, RegisteredCommand> subCommands, BaseCommand command) {
         command.subCommands.entries().forEach(e -> {
             subCommands.put(e.getKey(), e.getValue());
         });
 
+        SubcommandTrie trie = getSubcommandTrie();
+        if (trie != null) {
+            trie.addAll(subCommands, command.subCommands.keySet());
+        }
+
         children.add(command);
     }
 
@@ -90,17 +103,20 @@ public interface RootCommand {
 
     default BaseCommand execute(CommandIssuer sender, String commandLabel, String[] args) {
         CommandRouter router = getManager().getRouter();
+        CommandMetrics metrics = getManager().getCommandMetrics();
+        long start = metrics.start();
         RouteSearch search = router.routeCommand(this, commandLabel, args, false);
         BaseCommand defCommand = getDefCommand();
         if (search != null) {
             CommandRouteResult result = router.matchCommand(search, false);
             if (result != null) {
+                metrics.record(result.cmd, CommandMetrics.Phase.ROUTE, start);
                 BaseCommand scope = result.cmd.scope;
                 scope.execute(sender, result);
                 return scope;
             }
 
-            RegisteredCommand firstElement = ACFUtil.getFirstElement(search.commands);
+            RegisteredCommand firstElement = search.overloads.first(search.args.length);
             if (firstElement != null) {
                 defCommand = firstElement.scope;
             }
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2016-2020 Daniel Ennis (Aikar) - MIT License
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining
+ *  a copy of this software and associated documentation files (the
+ *  "Software"), to deal in the Software without restriction, including
+ *  without limitation the rights to use, copy, modify, merge, publish,
+ *  distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to
+ *  the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be
+ *  included in all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *  EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *  MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *  NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ *  LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ *  OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ *  WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package co.aikar.commands;
+
+import com.google.common.collect.SetMultimap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The subcommand keys of one {@link BaseCommand}, sorted so that every key starting with the typed input
+ * lies in one contiguous range.
+ * <p>
+ * Completing subcommands is then a binary search for the start of that range and a permission check on
+ * only the matching commands, instead of a scan over every alias of every subcommand. The preferred subcommand
+ * of each entry is split into its tokens once, when the index is built.
+ */
+final class SubcommandCompletionIndex {
+    private final int version;
+    private final String[] keys;
+    private final RegisteredCommand[] commands;
+    private final String[][] tokens;
+
+    private SubcommandCompletionIndex(int version, String[] keys, RegisteredCommand[] commands, String[][] tokens) {
+        this.version = version;
+        this.keys = keys;
+        this.commands = commands;
+        this.tokens = tokens;
+    }
+
+    /**
+     * @param version The version of the subcommand map, see {@link #isCurrent(int)}
+     */
+    static SubcommandCompletionIndex build(SetMultimap<String, RegisteredCommand> subCommands, int version) {
+        List<Map.Entry<String, RegisteredCommand>> entries = new ArrayList<>(subCommands.size());
+        for (Map.Entry<String, RegisteredCommand> entry : subCommands.entries()) {
+            if (!BaseCommand.isSpecialSubcommand(entry.getKey())) {
+                entries.add(entry);
+            }
+        }
+        entries.sort(Map.Entry.comparingByKey());
+
+        String[] keys = new String[entries.size()];
+        RegisteredCommand[] commands = new RegisteredCommand[entries.size()];
+        String[][] tokens = new String[entries.size()][];
+        for (int i = 0; i < keys.length; i++) {
+            Map.Entry<String, RegisteredCommand> entry = entries.get(i);
+            keys[i] = entry.getKey();
+            commands[i] = entry.getValue();
+            tokens[i] = ACFPatterns.SPACE.split(commands[i].prefSubCommand);
+        }
+        return new SubcommandCompletionIndex(version, keys, commands, tokens);
+    }
+
+    /**
+     * @param version The current version of the subcommand map, which its owner bumps on every change
+     * @return Whether the index was built from that version of the map
+     */
+    boolean isCurrent(int version) {
+        return this.version == version;
+    }
+
+    /**
+     * Adds the token at the given depth of every public subcommand that starts with the prefix and that the issuer may use.
+     */
+    void complete(CommandIssuer issuer, String prefix, int depth, Collection<String> completions) {
+        for (int i = lowerBound(prefix); i < keys.length && keys[i].startsWith(prefix); i++) {
+            RegisteredCommand command = commands[i];
+            if (command.isPrivate || !command.hasPermission(issuer)) {
+                continue;
+            }
+            completions.add(tokens[i][depth]);
+        }
+    }
+
+    /**
+     * @return The index of the first key not less than the given one. Overloads share a key, so unlike
+     * {@link java.util.Arrays#binarySearch(Object[], Object)} this has to find the first of several equal keys.
+     */
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
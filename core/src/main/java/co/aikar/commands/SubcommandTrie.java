@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2016-2020 Daniel Ennis (Aikar) - MIT License
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining
+ *  a copy of this software and associated documentation files (the
+ *  "Software"), to deal in the Software without restriction, including
+ *  without limitation the rights to use, copy, modify, merge, publish,
+ *  distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to
+ *  the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be
+ *  included in all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *  EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *  MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *  NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ *  LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ *  OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ *  WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package co.aikar.commands;
+
+import com.google.common.collect.SetMultimap;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A trie of every subcommand registered to a {@link RootCommand}, keyed by one lowercase token per node.
+ * <p>
+ * Routing walks the input arguments once instead of joining and probing every argument prefix. Each node keeps the
+ * live view of its key in the root command's subcommand map, so commands removed from that map stop matching
+ * without the trie needing to be rebuilt.
+ * <p>
+ * The {@link BaseCommand#DEFAULT} and {@link BaseCommand#CATCHUNKNOWN} commands can not be reached by input, they are
+ * kept aside for when no subcommand matched.
+ * <p>
+ * The type is public only because {@link RootCommand#getSubcommandTrie()} exposes it to the platform root commands;
+ * creating and using one is internal to ACF.
+ */
+public final class SubcommandTrie {
+    private final Node root = new Node("", 0);
+    private CommandOverloads defaults;
+    private CommandOverloads catchUnknown;
+
+    SubcommandTrie() {
+    }
+
+    /**
+     * Indexes the given subcommand keys, pointing each of them at its entry in the subcommand map.
+     *
+     * @param subCommands The subcommand map of the root command owning this trie.
+     * @param keys        The keys to index.
+     */
+    void addAll(SetMultimap<String, RegisteredCommand> subCommands, Iterable<String> keys) {
+        for (String key : keys) {
+            add(key, subCommands.get(key));
+        }
+    }
+
+    void add(String key, Set<RegisteredCommand> commands) {
+        if (BaseCommand.DEFAULT.equals(key)) {
+            defaults = update(defaults, commands, true);
+            return;
+        } else if (BaseCommand.CATCHUNKNOWN.equals(key)) {
+            catchUnknown = update(catchUnknown, commands, false);
+            return;
+        }
+        Node node = root;
+        if (!key.isEmpty()) {
+            int depth = 0;
+            for (String token : ACFPatterns.SPACE.split(key, -1)) {
+                final int childDepth = ++depth;
+                node = node.children.computeIfAbsent(token, t -> new Node(null, childDepth));
+            }
+        }
+        node.key = key;
+        node.overloads = update(node.overloads, commands, false);
+    }
+
+    private static CommandOverloads update(CommandOverloads overloads, Set<RegisteredCommand> commands, boolean defaults) {
+        if (overloads == null) {
+            overloads = new CommandOverloads(commands, defaults);
+        }
+        overloads.rebuild();
+        return overloads;
+    }
+
+    /**
+     * Finds the longest registered subcommand that the arguments start with.
+     *
+     * @param args The arguments the user entered after the root command.
+     * @return The node of the matched subcommand, or null if no subcommand matched.
+     */
+    Node match(String[] args) {
+        Node node = root;
+        Node found = root.hasCommands() ? root : null;
+        for (String arg : args) {
+            node = node.children.get(arg.toLowerCase(Locale.ENGLISH));
+            if (node == null) {
+                break;
+            }
+            if (node.hasCommands()) {
+                found = node;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * @return The {@link BaseCommand#DEFAULT} commands, or null if none were registered.
+     */
+    CommandOverloads getDefaults() {
+        return defaults;
+    }
+
+    /**
+     * @return The {@link BaseCommand#CATCHUNKNOWN} commands, or null if none were registered.
+     */
+    CommandOverloads getCatchUnknown() {
+        return catchUnknown;
+    }
+
+    static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        /**
+         * How many arguments this subcommand consumes.
+         */
+        final int depth;
+        /**
+         * The full subcommand key, or null if no subcommand ends on this node.
+         */
+        String key;
+        CommandOverloads overloads;
+
+        private Node(String key, int depth) {
+            this.key = key;
+            this.depth = depth;
+        }
+
+        boolean hasCommands() {
+            return overloads != null && !overloads.isEmpty();
+        }
+    }
+}
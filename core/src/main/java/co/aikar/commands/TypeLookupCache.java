@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2016-2020 Daniel Ennis (Aikar) - MIT License
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining
+ *  a copy of this software and associated documentation files (the
+ *  "Software"), to deal in the Software without restriction, including
+ *  without limitation the rights to use, copy, modify, merge, publish,
+ *  distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to
+ *  the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be
+ *  included in all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *  EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *  MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *  NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ *  LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ *  OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ *  WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package co.aikar.commands;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Caches a lookup that walks a type's hierarchy, such as finding the context resolver registered for a class or
+ * one of its superclasses, so repeated lookups for the same type are a single map read.
+ * <p>
+ * Entries are held by this cache rather than attached to the classes themselves, so they go away with their owner
+ * instead of pinning it (and the plugin behind it) through long-lived types such as {@code String}.
+ * <p>
+ * The owner calls {@link #invalidate()} whenever a registration could change a result. Entries computed before that
+ * are recomputed on their next lookup.
+ */
+final class TypeLookupCache<V> {
+    private final Function<Class<?>, V> lookup;
+    private final Map<Class<?>, Entry<V>> entries = new ConcurrentHashMap<>();
+    private volatile int epoch = 0;
+
+    TypeLookupCache(Function<Class<?>, V> lookup) {
+        this.lookup = lookup;
+    }
+
+    V get(Class<?> type) {
+        int epoch = this.epoch;
+        Entry<V> entry = entries.get(type);
+        if (entry == null || entry.epoch != epoch) {
+            entry = new Entry<>(epoch, lookup.apply(type));
+            entries.put(type, entry);
+        }
+        return entry.value;
+    }
+
+    void invalidate() {
+        epoch++;
+        entries.clear();
+    }
+
+    private static final class Entry<V> {
+        private final int epoch;
+        private final V value;
+
+        private Entry(int epoch, V value) {
+            this.epoch = epoch;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2016-2020 Daniel Ennis (Aikar) - MIT License
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining
+ *  a copy of this software and associated documentation files (the
+ *  "Software"), to deal in the Software without restriction, including
+ *  without limitation the rights to use, copy, modify, merge, publish,
+ *  distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to
+ *  the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be
+ *  included in all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *  EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *  MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *  NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ *  LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ *  OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ *  WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package co.aikar.commands.contexts;
+
+import co.aikar.commands.CommandExecutionContext;
+import co.aikar.commands.CommandIssuer;
+import co.aikar.commands.InvalidCommandArgument;
+
+/**
+ * A {@link ContextResolver} for {@code int} parameters that returns the value unboxed.
+ * <p>
+ * Values resolved for a {@code int} parameter are kept unboxed up to the command method call.
+ * Everywhere else, such as {@link Integer} parameters or {@link CommandExecutionContext#getPassedArgs()}, they are boxed as usual.
+ *
+ * @param <C>
+ *         The type of the context which the resolver would get its data from.
+ */
+@FunctionalInterface
+public interface IntContextResolver <C extends CommandExecutionContext<?, ? extends CommandIssuer>> extends ContextResolver<Integer, C> {
+    /**
+     * Parses the context of type {@link C} into a {@code int}, or throws an exception.
+     *
+     * @param c
+     *         The context to parse from.
+     *
+     * @return The parsed value.
+     *
+     * @throws InvalidCommandArgument
+     *         In case the context contains any discrepancies, it will throw this exception.
+     */
+    int getInt(C c) throws InvalidCommandArgument;
+
+    @Override
+    default Integer getContext(C c) throws InvalidCommandArgument {
+        return getInt(c);
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2016-2019 Daniel Ennis (Aikar) - MIT License
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining
+ *  a copy of this software and associated documentation files (the
+ *  "Software"), to deal in the Software without restriction, including
+ *  without limitation the rights to use, copy, modify, merge, publish,
+ *  distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to
+ *  the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be
+ *  included in all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *  EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *  MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *  NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ *  LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ *  OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ *  WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package co.aikar.commands;
+
+import co.aikar.commands.annotation.Async;
+import co.aikar.commands.annotation.CommandAlias;
+import co.aikar.commands.annotation.Subcommand;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AsyncCommandTests {
+
+    private final Queue<Runnable> asyncTasks = new ArrayDeque<>();
+    private final Queue<Runnable> mainTasks = new ArrayDeque<>();
+    private final List<String> messages = new ArrayList<>();
+    private TestCommandManager manager;
+    private TestCommandSender sender;
+    private AsyncCommand command;
+
+    @BeforeEach
+    public void initEach() {
+        manager = new TestCommandManager() {
+            @Override
+            public Executor getAsyncCommandExecutor() {
+                return asyncTasks::add;
+            }
+
+            @Override
+            public Executor getMainThreadExecutor() {
+                return mainTasks::add;
+            }
+        };
+        sender = new TestCommandSender() {
+            @Override
+            public void sendMessage(String message) {
+                messages.add(message);
+            }
+        };
+        command = new AsyncCommand();
+        manager.registerCommand(command);
+    }
+
+    @Test
+    public void resolvesContextsBeforeHandingOff() {
+        manager.dispatchCommand(sender, "async run nope");
+        assertTrue(asyncTasks.isEmpty());
+        assertTrue(messages.get(0).contains("number"));
+    }
+
+    @Test
+    public void runsBodyOnAsyncExecutor() {
+        manager.dispatchCommand(sender, "async run 5");
+        assertTrue(command.calls.isEmpty());
+        drain(asyncTasks);
+        assertEquals("run 5", command.calls.get(0));
+    }
+
+    @Test
+    public void marshalsMessagesToMainThread() {
+        manager.dispatchCommand(sender, "async run 5");
+        drain(asyncTasks);
+        assertTrue(messages.isEmpty());
+        drain(mainTasks);
+        assertEquals(1, messages.size());
+    }
+
+    @Test
+    public void handlesFailedStageOnMainThread() {
+        manager.dispatchCommand(sender, "async fail");
+        drain(asyncTasks);
+        command.future.completeExceptionally(new InvalidCommandArgument("broken", false));
+        assertTrue(messages.isEmpty());
+        drain(mainTasks);
+        assertEquals(1, messages.size());
+    }
+
+    @Test
+    public void synchronousCommandsRunInPlace() {
+        manager.dispatchCommand(sender, "async sync");
+        assertEquals("sync", command.calls.get(0));
+        assertTrue(asyncTasks.isEmpty());
+    }
+
+    private static void drain(Queue<Runnable> tasks) {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    @CommandAlias("async")
+    public static class AsyncCommand extends BaseCommand {
+        final List<String> calls = new ArrayList<>();
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        @Async
+        @Subcommand("run")
+        public void onRun(TestCommandSender sender, int amount) {
+            calls.add("run " + amount);
+            getCurrentCommandIssuer().sendMessage("done " + getExecSubcommand());
+        }
+
+        @Async
+        @Subcommand("fail")
+        public CompletionStage<Void> onFail(TestCommandSender sender) {
+            return future;
+        }
+
+        @Subcommand("sync")
+        public void onSync(TestCommandSender sender) {
+            calls.add("sync");
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2016-2019 Daniel Ennis (Aikar) - MIT License
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining
+ *  a copy of this software and associated documentation files (the
+ *  "Software"), to deal in the Software without restriction, including
+ *  without limitation the rights to use, copy, modify, merge, publish,
+ *  distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to
+ *  the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be
+ *  included in all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *  EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *  MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *  NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ *  LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ *  OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ *  WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package co.aikar.commands;
+
+import co.aikar.commands.annotation.CommandAlias;
+import co.aikar.commands.annotation.Subcommand;
+import co.aikar.commands.annotation.Timeout;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AsyncCommandTrackerTests {
+
+    private final List<String> messages = new ArrayList<>();
+    private TestCommandManager manager;
+    private TestCommandSender sender;
+    private PendingCommand command;
+
+    @BeforeEach
+    public void initEach() {
+        manager = new TestCommandManager();
+        sender = new TestCommandSender() {
+            @Override
+            public void sendMessage(String message) {
+                messages.add(message);
+            }
+        };
+        command = new PendingCommand();
+        manager.registerCommand(command);
+    }
+
+    @Test
+    public void tracksStagesUntilComplete() {
+        AsyncCommandTracker tracker = manager.getAsyncCommandTracker();
+        manager.dispatchCommand(sender, "pending run");
+        assertEquals(1, tracker.getInFlight());
+        assertEquals("pending", tracker.getPending().get(0).getCommandLabel());
+        command.futures.get(0).complete(null);
+        assertEquals(0, tracker.getInFlight());
+        assertTrue(tracker.getPending().isEmpty());
+    }
+
+    @Test
+    public void rejectsIssuersOverTheLimit() {
+        manager.getAsyncCommandTracker().setMaxInFlightPerIssuer(1);
+        manager.dispatchCommand(sender, "pending run");
+        manager.dispatchCommand(sender, "pending run");
+        assertEquals(1, command.futures.size());
+        assertEquals(1, messages.size());
+        command.futures.get(0).complete(null);
+        manager.dispatchCommand(sender, "pending run");
+        assertEquals(2, command.futures.size());
+    }
+
+    @Test
+    public void cancelsWithoutReportingAnError() {
+        AsyncCommandTracker tracker = manager.getAsyncCommandTracker();
+        manager.dispatchCommand(sender, "pending run");
+        assertEquals(1, tracker.cancel(sender.getUuid()));
+        assertTrue(command.futures.get(0).isCancelled());
+        assertEquals(0, tracker.getInFlight());
+        assertTrue(messages.isEmpty());
+    }
+
+    @Test
+    public void timesOutSlowStages() throws Exception {
+        manager.dispatchCommand(sender, "pending slow");
+        CompletableFuture<Void> future = command.futures.get(0);
+        for (int i = 0; i < 100 && !future.isDone(); i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(future.isCancelled());
+        for (int i = 0; i < 100 && messages.isEmpty(); i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, messages.size());
+        assertEquals(0, manager.getAsyncCommandTracker().getInFlight());
+    }
+
+    @Test
+    public void parsesTimeouts() {
+        assertEquals(500L, ACFUtil.parseDuration("500ms"));
+        assertEquals(TimeUnit.SECONDS.toMillis(30), ACFUtil.parseDuration("30"));
+        assertEquals(TimeUnit.MINUTES.toMillis(2), ACFUtil.parseDuration("2m"));
+    }
+
+    @CommandAlias("pending")
+    public static class PendingCommand extends BaseCommand {
+        final List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        @Subcommand("run")
+        public CompletableFuture<Void> onRun(TestCommandSender sender) {
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            futures.add(future);
+            return future;
+        }
+
+        @Timeout("50ms")
+        @Subcommand("slow")
+        public CompletableFuture<Void> onSlow(TestCommandSender sender) {
+            return onRun(sender);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2016-2019 Daniel Ennis (Aikar) - MIT License
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining
+ *  a copy of this software and associated documentation files (the
+ *  "Software"), to deal in the Software without restriction, including
+ *  without limitation the rights to use, copy, modify, merge, publish,
+ *  distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to
+ *  the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be
+ *  included in all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *  EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *  MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *  NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ *  LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ *  OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ *  WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package co.aikar.commands;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CachedCompletionHandlerTests {
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private final CachedCompletionHandler<CommandCompletionContext> handler = CachedCompletionHandler.of(
+            CompletionCachePolicy.expireAfter(1, TimeUnit.MINUTES),
+            (CommandCompletions.AsyncCommandCompletionHandler<CommandCompletionContext>) c -> {
+                calls.incrementAndGet();
+                return Arrays.asList("a", "b", c.getConfig());
+            });
+
+    private Collection<String> complete(String config) {
+        return handler.getCompletions(new CommandCompletionContext<>(null, null, "", config, new String[0]));
+    }
+
+    @Test
+    public void testCachedPerConfig() {
+        assertTrue(handler instanceof CommandCompletions.AsyncCommandCompletionHandler);
+        assertEquals(Arrays.asList("a", "b", "x"), complete("x"));
+        assertEquals(Arrays.asList("a", "b", "x"), complete("x"));
+        assertEquals(1, calls.get());
+        assertEquals(Arrays.asList("a", "b", "y"), complete("y"));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void testInvalidate() {
+        TestCommandManager manager = new TestCommandManager();
+        CommandCompletions<?> completions = manager.getCommandCompletions();
+        assertFalse(completions.invalidateCompletion("timeunits"));
+
+        complete("x");
+        handler.invalidate();
+        complete("x");
+        assertEquals(2, calls.get());
+    }
+}
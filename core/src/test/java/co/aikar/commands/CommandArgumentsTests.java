@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2016-2019 Daniel Ennis (Aikar) - MIT License
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining
+ *  a copy of this software and associated documentation files (the
+ *  "Software"), to deal in the Software without restriction, including
+ *  without limitation the rights to use, copy, modify, merge, publish,
+ *  distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to
+ *  the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be
+ *  included in all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *  EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *  MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *  NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ *  LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ *  OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ *  WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+
+package co.aikar.commands;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CommandArgumentsTests {
+
+    @Test
+    public void tokenizesLikeSpaceSplit() {
+        for (String line : new String[]{"", "a", "a b", "a  b", "a ", " a", "  "}) {
+            assertArrayEquals(ACFPatterns.SPACE.split(line, -1), CommandArguments.tokenize(line).toArray(0), line);
+        }
+    }
+
+    @Test
+    public void tokenizesFromOffset() {
+        CommandArguments arguments = CommandArguments.tokenize("!ping pong", 1, false);
+        assertEquals(2, arguments.size());
+        assertEquals("ping", arguments.get(0));
+        assertArrayEquals(new String[]{"pong"}, arguments.toArray(1));
+    }
+
+    @Test
+    public void tokenizesQuotedArguments() {
+        CommandArguments arguments = CommandArguments.tokenize("tag \"a long value\" \"x\"y \"open", 0, true);
+        assertArrayEquals(new String[]{"tag", "a long value", "\"x\"y", "\"open"}, arguments.toArray(0));
+    }
+
+    @Test
+    public void trimsTrailingEmptyTokens() {
+        CommandArguments arguments = CommandArguments.tokenize("a  b  ");
+        assertArrayEquals("a  b  ".split(" "), arguments.trimTrailingEmpty().toArray(0));
+        assertEquals(5, arguments.size());
+    }
+
+    @Test
+    public void argumentListCopiesOnWrite() {
+        ArgumentList original = new ArgumentList(new String[]{"a", "b", "c"});
+        ArgumentList copy = original.copy();
+        assertEquals("a", copy.remove(0));
+        assertEquals("c", copy.remove(copy.size() - 1));
+        copy.add("d");
+        copy.add(0, "e");
+        assertEquals(Arrays.asList("e", "b", "d"), copy);
+        assertEquals(Arrays.asList("a", "b", "c"), original);
+    }
+}
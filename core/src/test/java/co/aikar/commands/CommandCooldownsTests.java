@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2016-2019 Daniel Ennis (Aikar) - MIT License
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining
+ *  a copy of this software and associated documentation files (the
+ *  "Software"), to deal in the Software without restriction, including
+ *  without limitation the rights to use, copy, modify, merge, publish,
+ *  distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to
+ *  the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be
+ *  included in all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *  EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *  MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *  NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ *  LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ *  OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ *  WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package co.aikar.commands;
+
+import co.aikar.commands.annotation.CommandAlias;
+import co.aikar.commands.annotation.Cooldown;
+import co.aikar.commands.annotation.Subcommand;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CommandCooldownsTests {
+
+    private final List<String> messages = new ArrayList<>();
+    private TestCommandManager manager;
+    private CooldownCommand command;
+
+    @BeforeEach
+    public void initEach() {
+        manager = new TestCommandManager();
+        command = new CooldownCommand();
+        manager.registerCommand(command);
+    }
+
+    private TestCommandSender newSender() {
+        return new TestCommandSender() {
+            @Override
+            public void sendMessage(String message) {
+                messages.add(message);
+            }
+        };
+    }
+
+    @Test
+    public void rejectsUsesBeyondTheBurst() {
+        TestCommandSender sender = newSender();
+        for (int i = 0; i < 5; i++) {
+            manager.dispatchCommand(sender, "cooldown burst");
+        }
+        assertEquals(3, command.calls);
+        assertEquals(2, messages.size());
+    }
+
+    @Test
+    public void limitsAreKeptPerIssuer() {
+        manager.dispatchCommand(newSender(), "cooldown single");
+        manager.dispatchCommand(newSender(), "cooldown single");
+        assertEquals(2, command.calls);
+    }
+
+    @Test
+    public void globalLimitsAreShared() {
+        manager.dispatchCommand(newSender(), "cooldown global");
+        manager.dispatchCommand(newSender(), "cooldown global");
+        assertEquals(1, command.calls);
+    }
+
+    @Test
+    public void rejectedCallsSkipContextResolution() {
+        TestCommandSender sender = newSender();
+        manager.dispatchCommand(sender, "cooldown number 1");
+        manager.dispatchCommand(sender, "cooldown number abc");
+        assertEquals(1, command.calls);
+        assertEquals(1, messages.size());
+        assertTrue(messages.get(0).contains("wait"));
+    }
+
+    @Test
+    public void resetRestoresUses() {
+        TestCommandSender sender = newSender();
+        manager.dispatchCommand(sender, "cooldown single");
+        manager.getCommandCooldowns().reset(sender.getUuid());
+        manager.dispatchCommand(sender, "cooldown single");
+        assertEquals(2, command.calls);
+    }
+
+    @Test
+    public void metaAnnotationsApply() {
+        TestCommandSender sender = newSender();
+        manager.dispatchCommand(sender, "cooldown meta");
+        manager.dispatchCommand(sender, "cooldown meta");
+        assertEquals(1, command.calls);
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Cooldown("1h")
+    public @interface HourlyCooldown {
+    }
+
+    @CommandAlias("cooldown")
+    public static class CooldownCommand extends BaseCommand {
+        int calls;
+
+        @Cooldown(value = "1m", uses = 3)
+        @Subcommand("burst")
+        public void onBurst(TestCommandSender sender) {
+            calls++;
+        }
+
+        @Cooldown("1h")
+        @Subcommand("single")
+        public void onSingle(TestCommandSender sender) {
+            calls++;
+        }
+
+        @Cooldown("1h")
+        @Subcommand("number")
+        public void onNumber(TestCommandSender sender, int number) {
+            calls++;
+        }
+
+        @HourlyCooldown
+        @Subcommand("meta")
+        public void onMeta(TestCommandSender sender) {
+            calls++;
+        }
+
+        @Cooldown(value = "1h", global = true)
+        @Subcommand("global")
+        public void onGlobal(TestCommandSender sender) {
+            calls++;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2016-2019 Daniel Ennis (Aikar) - MIT License
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining
+ *  a copy of this software and associated documentation files (the
+ *  "Software"), to deal in the Software without restriction, including
+ *  without limitation the rights to use, copy, modify, merge, publish,
+ *  distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to
+ *  the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be
+ *  included in all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *  EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *  MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *  NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ *  LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ *  OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ *  WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package co.aikar.commands;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CommandInvokerTests {
+
+    private final CommandInvoker invoker;
+
+    public CommandInvokerTests() throws NoSuchMethodException {
+        invoker = CommandInvoker.of(Target.class.getMethod("run", String.class, int.class));
+    }
+
+    @Test
+    public void testInvokes() throws Exception {
+        assertTrue(invoker instanceof CommandInvoker.MethodHandleInvoker);
+        assertEquals("a3", invoker.invoke(new Target(), new Object[]{"a", 3}));
+    }
+
+    @Test
+    public void testMethodExceptionsAreWrapped() {
+        InvocationTargetException e = assertThrows(InvocationTargetException.class, () -> invoker.invoke(new Target(), new Object[]{"fail", 1}));
+        assertTrue(e.getCause() instanceof ClassCastException);
+    }
+
+    @Test
+    public void testMismatchedArgumentsAreIllegal() {
+        assertThrows(IllegalArgumentException.class, () -> invoker.invoke(new Target(), new Object[]{"a", null}));
+        assertThrows(IllegalArgumentException.class, () -> invoker.invoke(new Target(), new Object[]{1, 3}));
+        assertThrows(IllegalArgumentException.class, () -> invoker.invoke("not a target", new Object[]{"a", 3}));
+    }
+
+    public static class Target {
+        public String run(String text, int number) {
+            if ("fail".equals(text)) {
+                throw new ClassCastException("thrown by the method");
+            }
+            return text + number;
+        }
+    }
+}
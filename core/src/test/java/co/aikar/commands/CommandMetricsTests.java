@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2016-2019 Daniel Ennis (Aikar) - MIT License
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining
+ *  a copy of this software and associated documentation files (the
+ *  "Software"), to deal in the Software without restriction, including
+ *  without limitation the rights to use, copy, modify, merge, publish,
+ *  distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to
+ *  the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be
+ *  included in all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *  EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *  MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *  NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ *  LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ *  OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ *  WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package co.aikar.commands;
+
+import co.aikar.commands.annotation.CommandAlias;
+import co.aikar.commands.annotation.Subcommand;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CommandMetricsTests {
+
+    private TestCommandManager manager;
+    private TestCommandSender sender;
+
+    @BeforeEach
+    public void initEach() {
+        manager = new TestCommandManager();
+        sender = new TestCommandSender();
+        manager.registerCommand(new MetricsCommand());
+    }
+
+    @Test
+    public void recordsNothingWhileDisabled() {
+        manager.dispatchCommand(sender, "metrics ok 1");
+        assertEquals(0, find("metrics ok").getExecutions());
+    }
+
+    @Test
+    public void countsExecutionsAndFailures() {
+        manager.getCommandMetrics().setEnabled(true);
+        manager.dispatchCommand(sender, "metrics ok 1");
+        manager.dispatchCommand(sender, "metrics ok nope");
+        manager.dispatchCommand(sender, "metrics fail");
+        CommandMetrics.CommandSnapshot ok = find("metrics ok");
+        assertEquals(2, ok.getExecutions());
+        assertEquals(1, ok.getInvalidUsages());
+        assertEquals(1, ok.getLatency(CommandMetrics.Phase.INVOKE).getCount());
+        assertEquals(2, ok.getLatency(CommandMetrics.Phase.ROUTE).getCount());
+        assertEquals(1, find("metrics fail").getErrors());
+    }
+
+    @Test
+    public void percentilesStayWithinTheirBucket() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(1000, snapshot.getCount());
+        long p50 = snapshot.getPercentile(50);
+        long p99 = snapshot.getPercentile(99);
+        assertTrue(p50 >= 500_000 && p50 <= 500_000 * 1.25, "p50 " + p50);
+        assertTrue(p99 >= 990_000 && p99 <= 990_000 * 1.25, "p99 " + p99);
+    }
+
+    private CommandMetrics.CommandSnapshot find(String command) {
+        for (CommandMetrics.CommandSnapshot snapshot : manager.getCommandMetrics().snapshot()) {
+            if (snapshot.getCommandName().equals(command)) {
+                return snapshot;
+            }
+        }
+        throw new AssertionError("No metrics for " + command);
+    }
+
+    @CommandAlias("metrics")
+    public static class MetricsCommand extends BaseCommand {
+        @Subcommand("ok")
+        public void onOk(TestCommandSender sender, int amount) {
+        }
+
+        @Subcommand("fail")
+        public void onFail(TestCommandSender sender) {
+            throw new IllegalStateException("failed on purpose");
+        }
+    }
+}
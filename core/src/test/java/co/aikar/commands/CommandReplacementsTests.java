@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2016-2019 Daniel Ennis (Aikar) - MIT License
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining
+ *  a copy of this software and associated documentation files (the
+ *  "Software"), to deal in the Software without restriction, including
+ *  without limitation the rights to use, copy, modify, merge, publish,
+ *  distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to
+ *  the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be
+ *  included in all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *  EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *  MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *  NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ *  LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ *  OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ *  WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+
+package co.aikar.commands;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class CommandReplacementsTests {
+
+    private CommandReplacements replacements;
+
+    @BeforeEach
+    public void initEach() {
+        replacements = new TestCommandManager().getCommandReplacements();
+        replacements.addReplacements(
+                "perm", "myplugin.admin",
+                "permission", "myplugin.$1",
+                "%nested", "%perm.nested"
+        );
+    }
+
+    @Test
+    public void replacesBothTokenForms() {
+        assertEquals("myplugin.admin|myplugin.admin", replacements.replace("%perm|%{PERM}"));
+        assertEquals("true|false|yes|no|1|0|on|off|t|f", replacements.replace("%truthy"));
+    }
+
+    @Test
+    public void matchesWholeKeysOnly() {
+        assertEquals("myplugin.$1 myplugin.admin.x %perms", replacements.replace("%permission %perm.x %perms"));
+    }
+
+    @Test
+    public void expandsNestedReplacements() {
+        assertEquals("myplugin.admin.nested", replacements.replace("%nested"));
+    }
+
+    @Test
+    public void leavesUnknownTokens() {
+        assertEquals("100% %unknown %{unknown}", replacements.replace("100% %unknown %{unknown}"));
+        String plain = "no tokens";
+        assertSame(plain, replacements.replace(plain));
+    }
+
+    @Test
+    public void seesLaterReplacements() {
+        assertEquals("%later", replacements.replace("%later"));
+        replacements.addReplacement("later", "now");
+        assertEquals("now", replacements.replace("%later"));
+    }
+}
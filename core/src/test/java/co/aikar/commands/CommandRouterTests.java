@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2016-2019 Daniel Ennis (Aikar) - MIT License
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining
+ *  a copy of this software and associated documentation files (the
+ *  "Software"), to deal in the Software without restriction, including
+ *  without limitation the rights to use, copy, modify, merge, publish,
+ *  distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to
+ *  the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be
+ *  included in all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *  EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *  MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *  NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ *  LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ *  OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ *  WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package co.aikar.commands;
+
+import co.aikar.commands.annotation.CommandAlias;
+import co.aikar.commands.annotation.Default;
+import co.aikar.commands.annotation.Subcommand;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CommandRouterTests {
+
+    private TestCommandManager manager;
+    private TestCommandSender sender;
+    private RouteCommand command;
+
+    @BeforeEach
+    public void initEach() {
+        manager = new TestCommandManager();
+        sender = new TestCommandSender();
+        command = new RouteCommand();
+        manager.registerCommand(command);
+    }
+
+    @Test
+    public void routesToLongestSubcommand() {
+        manager.dispatchCommand(sender, "route foo bar 3");
+        manager.dispatchCommand(sender, "route foo baz");
+        assertEquals("foo bar 3", command.calls.get(0));
+        assertEquals("foo baz", command.calls.get(1));
+    }
+
+    @Test
+    public void routingIgnoresCase() {
+        manager.dispatchCommand(sender, "route FOO Bar 3");
+        assertEquals("foo bar 3", command.calls.get(0));
+    }
+
+    @Test
+    public void routesToDefaultWhenNoSubcommandMatches() {
+        manager.dispatchCommand(sender, "route");
+        assertEquals("default", command.calls.get(0));
+    }
+
+    @Test
+    public void picksOverloadByArgumentCount() {
+        manager.dispatchCommand(sender, "route pair 1 2");
+        manager.dispatchCommand(sender, "route pair x");
+        assertEquals("pair 1 2", command.calls.get(0));
+        assertEquals("pair x", command.calls.get(1));
+    }
+
+    @Test
+    public void unregisteredSubcommandsStopMatching() {
+        OtherRouteCommand other = new OtherRouteCommand();
+        manager.registerCommand(other);
+        manager.unregisterCommand(command);
+        manager.dispatchCommand(sender, "route foo bar 3");
+        manager.dispatchCommand(sender, "route other");
+        assertEquals(0, command.calls.size());
+        assertEquals(1, other.calls.size());
+    }
+
+    @CommandAlias("route")
+    public static class RouteCommand extends BaseCommand {
+        final List<String> calls = new ArrayList<>();
+
+        @Default
+        public void onDefault(TestCommandSender sender) {
+            calls.add("default");
+        }
+
+        @Subcommand("foo")
+        public void onFoo(TestCommandSender sender, String rest) {
+            calls.add("foo " + rest);
+        }
+
+        @Subcommand("foo bar")
+        public void onFooBar(TestCommandSender sender, int amount) {
+            calls.add("foo bar " + amount);
+        }
+
+        @Subcommand("pair")
+        public void onPair(TestCommandSender sender, String value) {
+            calls.add("pair " + value);
+        }
+
+        @Subcommand("pair")
+        public void onPair(TestCommandSender sender, int first, int second) {
+            calls.add("pair " + first + " " + second);
+        }
+    }
+
+    @CommandAlias("route")
+    public static class OtherRouteCommand extends BaseCommand {
+        final List<String> calls = new ArrayList<>();
+
+        @Subcommand("other")
+        public void onOther(TestCommandSender sender) {
+            calls.add("other");
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2016-2019 Daniel Ennis (Aikar) - MIT License
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining
+ *  a copy of this software and associated documentation files (the
+ *  "Software"), to deal in the Software without restriction, including
+ *  without limitation the rights to use, copy, modify, merge, publish,
+ *  distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to
+ *  the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be
+ *  included in all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *  EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *  MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *  NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ *  LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ *  OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ *  WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package co.aikar.commands;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CompletionIndexTests {
+
+    private final CompletionIndex index = CompletionIndex.of("Warp", "spawn", "Shop", "shop", "stone", "sponge", "arena");
+
+    @Test
+    public void testSortedAndDistinct() {
+        assertEquals(Arrays.asList("arena", "Shop", "spawn", "sponge", "stone", "Warp"), index);
+    }
+
+    @Test
+    public void testStartingWith() {
+        assertEquals(Arrays.asList("spawn", "sponge"), index.startingWith("sP"));
+        assertEquals(Collections.singletonList("Warp"), index.startingWith("warp"));
+        assertEquals(Collections.emptyList(), index.startingWith("warps"));
+        assertEquals(Collections.emptyList(), index.startingWith("z"));
+        assertEquals(index, index.startingWith(""));
+    }
+}
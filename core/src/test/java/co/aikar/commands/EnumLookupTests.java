@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2016-2019 Daniel Ennis (Aikar) - MIT License
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining
+ *  a copy of this software and associated documentation files (the
+ *  "Software"), to deal in the Software without restriction, including
+ *  without limitation the rights to use, copy, modify, merge, publish,
+ *  distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to
+ *  the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be
+ *  included in all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *  EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *  MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *  NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ *  LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ *  OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ *  WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package co.aikar.commands;
+
+import co.aikar.commands.annotation.CommandAlias;
+import co.aikar.commands.annotation.CommandCompletion;
+import co.aikar.commands.annotation.Subcommand;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class EnumLookupTests {
+
+    private final TestCommandManager manager = new TestCommandManager();
+
+    @Test
+    public void testMatch() {
+        EnumLookup lookup = manager.getEnumLookup(Shade.class);
+        assertSame(Shade.LIGHT_GRAY, lookup.match("light_gray"));
+        assertSame(Shade.LIGHT_GRAY, lookup.match("LightGray"));
+        assertSame(Shade.LIGHT_GRAY, lookup.match("light-gray"));
+        assertSame(Shade.LIGHT_GRAY, lookup.match("lightgray"));
+        assertNull(lookup.match("grey"));
+        assertNull(lookup.match(null));
+        assertSame(lookup, manager.getEnumLookup(Shade.class));
+    }
+
+    @Test
+    public void testNamesInDeclarationOrder() {
+        assertEquals(Arrays.asList("WHITE", "LIGHT_GRAY", "LIGHTGRAY", "BLACK"), manager.getEnumLookup(Shade.class).getNames());
+    }
+
+    @Test
+    public void testDefaultCompletion() {
+        ShadeCommand command = new ShadeCommand();
+        manager.registerCommand(command);
+        TestCommandIssuer issuer = manager.getCommandIssuer(new TestCommandSender());
+        assertEquals(Arrays.asList("WHITE", "LIGHT_GRAY", "LIGHTGRAY", "BLACK"), command.tabComplete(issuer, "shade", new String[]{"set", ""}));
+        assertEquals(Arrays.asList("LIGHT_GRAY", "LIGHTGRAY"), command.tabComplete(issuer, "shade", new String[]{"set", "li"}));
+        assertEquals(Collections.emptyList(), command.tabComplete(issuer, "shade", new String[]{"set", "x"}));
+    }
+
+    enum Shade {
+        WHITE, LIGHT_GRAY, LIGHTGRAY, BLACK
+    }
+
+    @CommandAlias("shade")
+    public class ShadeCommand extends BaseCommand {
+        @Subcommand("set")
+        @CommandCompletion("*")
+        public void onSet(TestCommandSender sender, Shade shade) {
+        }
+    }
+}
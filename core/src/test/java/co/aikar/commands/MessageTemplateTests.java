@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2016-2019 Daniel Ennis (Aikar) - MIT License
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining
+ *  a copy of this software and associated documentation files (the
+ *  "Software"), to deal in the Software without restriction, including
+ *  without limitation the rights to use, copy, modify, merge, publish,
+ *  distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to
+ *  the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be
+ *  included in all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *  EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *  MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *  NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ *  LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ *  OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ *  WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+
+package co.aikar.commands;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.regex.Matcher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class MessageTemplateTests {
+
+    private TestCommandManager manager;
+    private MessageFormatter<String> formatter;
+    private TestCommandIssuer issuer;
+
+    @BeforeEach
+    public void initEach() {
+        manager = new TestCommandManager();
+        formatter = new MessageFormatter<String>("&a", "&b", "&c") {
+            @Override
+            String format(String color, String message) {
+                return color + message;
+            }
+        };
+        manager.setDefaultFormatter(formatter);
+        manager.getLocales().addMessageStrings(Locales.ENGLISH, Collections.singletonMap("test.entry", "<c1>{name}</c1> %{level} <c3>{name}</c3>{missing}"));
+        manager.getCommandReplacements().addReplacement("level", "Lv");
+        issuer = manager.getCommandIssuer(new TestCommandSender());
+    }
+
+    @Test
+    public void formatsLikeRegexFormatter() {
+        String[] messages = {
+                "plain", "<c2>two</c2> rest", "<C3>upper</c3>", "<c1>a<c2>b</c2>c</c1>",
+                "<c1>unclosed", "<c2>wrong</c3>", "<c1>multi\nline</c1>", "<c02>x</c02><c1>y</c1>", "<c>none</c>", "<<c2>x</c2>"
+        };
+        for (String message : messages) {
+            assertEquals(regexFormat(message), formatter.format(message), message);
+        }
+    }
+
+    @Test
+    public void fillsPlaceholders() {
+        assertEquals("&a&aBob&a Lv &cBob&a{missing}", format("{name}", "Bob"));
+        assertEquals("&a&a{name}&a Lv &c{name}&a{missing}", format());
+    }
+
+    @Test
+    public void fallsBackForReplacementValues() {
+        assertEquals("&a&aLv&a Lv &cLv&a{missing}", format("{name}", "%level"));
+    }
+
+    @Test
+    public void recompilesOnChanges() {
+        assertEquals("&a&aBob&a Lv &cBob&a{missing}", format("{name}", "Bob"));
+        manager.setFormat(MessageType.INFO, 3, "&d");
+        manager.getCommandReplacements().addReplacement("level", "Level");
+        assertEquals("&a&aBob&a Level &dBob&a{missing}", format("{name}", "Bob"));
+        manager.getLocales().addMessageStrings(Locales.ENGLISH, Collections.singletonMap("test.entry", "{name}!"));
+        assertEquals("&aBob!", format("{name}", "Bob"));
+    }
+
+    private String format(String... replacements) {
+        return manager.formatMessage(issuer, MessageType.INFO, co.aikar.locales.MessageKey.of("test.entry"), replacements);
+    }
+
+    private String regexFormat(String message) {
+        String def = formatter.format(1, "");
+        Matcher matcher = ACFPatterns.FORMATTER.matcher(message);
+        StringBuffer sb = new StringBuffer(message.length());
+        while (matcher.find()) {
+            Integer color = ACFUtil.parseInt(matcher.group("color"), 1);
+            String msg = formatter.format(color, matcher.group("msg")) + def;
+            matcher.appendReplacement(sb, Matcher.quoteReplacement(msg));
+        }
+        matcher.appendTail(sb);
+        return def + sb.toString();
+    }
+}
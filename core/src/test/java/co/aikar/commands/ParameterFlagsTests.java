@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2016-2019 Daniel Ennis (Aikar) - MIT License
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining
+ *  a copy of this software and associated documentation files (the
+ *  "Software"), to deal in the Software without restriction, including
+ *  without limitation the rights to use, copy, modify, merge, publish,
+ *  distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to
+ *  the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be
+ *  included in all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *  EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *  MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *  NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ *  LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ *  OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ *  WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package co.aikar.commands;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParameterFlagsTests {
+
+    @Test
+    public void testWellKnownFlags() {
+        Map<String, String> raw = new HashMap<>();
+        raw.put("suffixes", null);
+        raw.put("min", "2.5");
+        raw.put("maxlen", "16");
+        raw.put("splitter", "|");
+        ParameterFlags flags = new ParameterFlags(raw);
+
+        assertTrue(flags.hasSuffixes());
+        assertEquals(2.5, flags.getMin(0));
+        assertEquals(100, flags.getMax(100));
+        assertEquals(0, flags.getMinLength());
+        assertEquals(16, flags.getMaxLength());
+        assertEquals(8, flags.getPerPage(8));
+        assertArrayEquals(new String[]{"a", "b"}, flags.getSplitter(ACFPatterns.COMMA).split("a|b"));
+        assertTrue(flags.getInvalidFlags().isEmpty());
+    }
+
+    @Test
+    public void testTypedValues() {
+        Map<String, String> raw = new HashMap<>();
+        raw.put("count", "7");
+        raw.put("ratio", "0.5");
+        raw.put("enabled", "yes");
+        raw.put("max", "lots");
+        ParameterFlags flags = new ParameterFlags(raw);
+
+        assertEquals(Integer.valueOf(7), flags.getInt("count"));
+        assertEquals(Long.valueOf(7), flags.getLong("count"));
+        assertNull(flags.getInt("ratio"));
+        assertEquals(Double.valueOf(0.5), flags.getDouble("ratio"));
+        assertEquals(Boolean.TRUE, flags.getBoolean("enabled"));
+        assertNull(flags.getBoolean("missing"));
+        assertEquals(Collections.singletonList("max"), flags.getInvalidFlags());
+        assertEquals(1, flags.getMax(1));
+    }
+}
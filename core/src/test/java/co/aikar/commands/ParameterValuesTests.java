@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2016-2019 Daniel Ennis (Aikar) - MIT License
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining
+ *  a copy of this software and associated documentation files (the
+ *  "Software"), to deal in the Software without restriction, including
+ *  without limitation the rights to use, copy, modify, merge, publish,
+ *  distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to
+ *  the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be
+ *  included in all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *  EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *  MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *  NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ *  LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ *  OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ *  WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package co.aikar.commands;
+
+import co.aikar.commands.annotation.CommandAlias;
+import co.aikar.commands.annotation.Subcommand;
+import co.aikar.commands.annotation.Values;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ParameterValuesTests {
+
+    private final List<String> received = new ArrayList<>();
+    private TestCommandManager manager;
+    private int lookups;
+
+    @BeforeEach
+    public void initEach() {
+        manager = new TestCommandManager();
+        manager.getCommandCompletions().registerAsyncCompletion("things", c -> {
+            lookups++;
+            return Arrays.asList("Apple", "Pear");
+        });
+        manager.registerCommand(new ValuesCommand());
+    }
+
+    @Test
+    public void testStaticValuesSkipCompletions() {
+        manager.dispatchCommand(new TestCommandSender(), "values mixed RED");
+        manager.dispatchCommand(new TestCommandSender(), "values mixed blue");
+        assertEquals(Arrays.asList("RED", "blue"), received);
+        assertEquals(0, lookups);
+    }
+
+    @Test
+    public void testCompletionValues() {
+        manager.dispatchCommand(new TestCommandSender(), "values mixed pear");
+        manager.dispatchCommand(new TestCommandSender(), "values mixed plum");
+        assertEquals(Arrays.asList("pear"), received);
+        assertEquals(2, lookups);
+    }
+
+    @Test
+    public void testRecompiledAfterRegistration() {
+        manager.dispatchCommand(new TestCommandSender(), "values later cherry");
+        manager.getCommandCompletions().registerAsyncCompletion("fruit", c -> Arrays.asList("cherry"));
+        manager.dispatchCommand(new TestCommandSender(), "values later cherry");
+        assertEquals(Arrays.asList("cherry"), received);
+    }
+
+    @CommandAlias("values")
+    public class ValuesCommand extends BaseCommand {
+        @Subcommand("mixed")
+        public void onMixed(TestCommandSender sender, @Values("red|blue|@things") String value) {
+            received.add(value);
+        }
+
+        @Subcommand("later")
+        public void onLater(TestCommandSender sender, @Values("@fruit") String value) {
+            received.add(value);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2016-2019 Daniel Ennis (Aikar) - MIT License
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining
+ *  a copy of this software and associated documentation files (the
+ *  "Software"), to deal in the Software without restriction, including
+ *  without limitation the rights to use, copy, modify, merge, publish,
+ *  distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to
+ *  the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be
+ *  included in all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *  EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *  MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *  NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ *  LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ *  OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ *  WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+
+package co.aikar.commands;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PermissionCacheTests {
+
+    private TestCommandManager manager;
+    private PermissionSender sender;
+    private CommandIssuer issuer;
+
+    @BeforeEach
+    public void initEach() {
+        manager = new TestCommandManager();
+        sender = new PermissionSender();
+        issuer = manager.getCommandIssuer(sender);
+    }
+
+    @Test
+    public void disabledByDefault() {
+        assertFalse(manager.getPermissionCache().isEnabled());
+        manager.hasPermission(issuer, "acf.test");
+        manager.hasPermission(issuer, "acf.test");
+        assertEquals(2, sender.checks);
+    }
+
+    @Test
+    public void remembersDecisionsUntilInvalidated() {
+        manager.getPermissionCache().setTtl(1, TimeUnit.MINUTES);
+        assertFalse(manager.hasPermission(issuer, "acf.test"));
+        sender.granted.add("acf.test");
+        assertFalse(manager.hasPermission(issuer, "acf.test"));
+        assertEquals(1, sender.checks);
+
+        manager.getPermissionCache().invalidate(issuer.getUniqueId());
+        assertTrue(manager.hasPermission(issuer, "acf.test"));
+        assertEquals(2, sender.checks);
+    }
+
+    @Test
+    public void checksEachNodeOfAList() {
+        manager.getPermissionCache().setTtl(1, TimeUnit.MINUTES);
+        sender.granted.add("acf.a");
+        assertFalse(manager.hasPermission(issuer, "acf.a,acf.b"));
+        sender.granted.add("acf.b");
+        manager.getPermissionCache().invalidateAll();
+        assertTrue(manager.hasPermission(issuer, "acf.a,acf.b"));
+        assertTrue(manager.hasPermission(issuer, "acf.b"));
+        assertEquals(4, sender.checks);
+    }
+
+    @Test
+    public void dropsIssuersWhoseDecisionsExpired() throws InterruptedException {
+        manager.getPermissionCache().setTtl(1, TimeUnit.MILLISECONDS);
+        manager.hasPermission(issuer, "acf.test");
+        assertEquals(1, manager.getPermissionCache().getCachedIssuers());
+        Thread.sleep(5);
+        manager.hasPermission(manager.getCommandIssuer(new PermissionSender()), "acf.test");
+        assertEquals(1, manager.getPermissionCache().getCachedIssuers());
+        manager.hasPermission(issuer, "acf.test");
+        assertEquals(2, sender.checks);
+    }
+
+    @Test
+    public void skipsIssuersWithoutCacheKey() {
+        manager.getPermissionCache().setTtl(1, TimeUnit.MINUTES);
+        CommandIssuer uncached = new TestCommandIssuer(manager, sender) {
+            @Override
+            public UUID getPermissionCacheKey() {
+                return null;
+            }
+        };
+        manager.hasPermission(uncached, "acf.test");
+        manager.hasPermission(uncached, "acf.test");
+        assertEquals(2, sender.checks);
+    }
+
+    private static class PermissionSender extends TestCommandSender {
+        private final Set<String> granted = new HashSet<>();
+        private int checks = 0;
+
+        @Override
+        public boolean hasPermission(String permission) {
+            checks++;
+            return granted.contains(permission);
+        }
+    }
+}
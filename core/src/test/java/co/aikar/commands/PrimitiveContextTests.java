@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2016-2019 Daniel Ennis (Aikar) - MIT License
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining
+ *  a copy of this software and associated documentation files (the
+ *  "Software"), to deal in the Software without restriction, including
+ *  without limitation the rights to use, copy, modify, merge, publish,
+ *  distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to
+ *  the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be
+ *  included in all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *  EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *  MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *  NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ *  LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ *  OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ *  WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package co.aikar.commands;
+
+import co.aikar.commands.annotation.CommandAlias;
+import co.aikar.commands.annotation.Conditions;
+import co.aikar.commands.annotation.Flags;
+import co.aikar.commands.annotation.Subcommand;
+import co.aikar.commands.contexts.ContextResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PrimitiveContextTests {
+
+    private TestCommandManager manager;
+    private PrimitiveCommand command;
+
+    @BeforeEach
+    public void initEach() {
+        manager = new TestCommandManager();
+        command = new PrimitiveCommand();
+        manager.registerCommand(command);
+        manager.getCommandConditions().addCondition(int.class, "even", (c, exec, value) -> {
+            if (value % 2 != 0) {
+                throw new ConditionFailedException("odd");
+            }
+        });
+    }
+
+    @Test
+    public void testPrimitiveArguments() {
+        manager.dispatchCommand(new TestCommandSender(), "primitive all 5 -7 2.5 yes 3 6");
+        assertEquals(Arrays.asList(5, -7L, 2.5D, true, (short) 3, 6), command.received);
+    }
+
+    @Test
+    public void testSuffixesAndBounds() {
+        manager.dispatchCommand(new TestCommandSender(), "primitive money 1.5k");
+        manager.dispatchCommand(new TestCommandSender(), "primitive money 2m");
+        assertEquals(Arrays.asList(1500L, 2000000L), command.received);
+    }
+
+    @Test
+    public void testConditionsSeeValue() {
+        manager.dispatchCommand(new TestCommandSender(), "primitive even 4");
+        manager.dispatchCommand(new TestCommandSender(), "primitive even 3");
+        assertEquals(Arrays.asList(4), command.received);
+    }
+
+    @Test
+    public void testBoundsMessages() {
+        List<String> messages = new ArrayList<>();
+        TestCommandSender sender = new TestCommandSender() {
+            @Override
+            public void sendMessage(String message) {
+                messages.add(message);
+            }
+        };
+        manager.dispatchCommand(sender, "primitive even 99999999999");
+        assertTrue(messages.get(0).contains(" 2147483647"), messages.get(0));
+        messages.clear();
+        manager.dispatchCommand(sender, "primitive money 6m");
+        assertTrue(messages.get(0).contains(" 5000000.0"), messages.get(0));
+        assertTrue(command.received.isEmpty());
+    }
+
+    @Test
+    public void testSetFlagsUpdatesParsedFlags() {
+        CommandParameter<?> amount = command.subCommands.get("money").iterator().next().parameters[1];
+        amount.setFlags(Collections.singletonMap("max", "10"));
+        assertEquals(10, amount.getParameterFlags().getMax(0));
+        assertEquals("10", amount.getFlags().get("max"));
+        assertThrows(UnsupportedOperationException.class, () -> amount.getFlags().put("min", "1"));
+
+        manager.dispatchCommand(new TestCommandSender(), "primitive money 11");
+        manager.dispatchCommand(new TestCommandSender(), "primitive money 9");
+        assertEquals(Arrays.asList(9L), command.received);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testBoxedValuesAreWidened() {
+        ContextResolver resolver = c -> Integer.valueOf(c.popFirstArg());
+        manager = new TestCommandManager();
+        manager.getCommandContexts().registerContext(long.class, resolver);
+        command = new PrimitiveCommand();
+        manager.registerCommand(command);
+        manager.dispatchCommand(new TestCommandSender(), "primitive money 7");
+        assertEquals(Arrays.asList(7L), command.received);
+    }
+
+    @Test
+    public void testParseDecimal() {
+        for (String num : new String[]{"0", "-0", "12", "+12", "0.1", ".5", "5.", "-0.000123", "3.141592653589793",
+                "123456789012345678", "1e5", "0.30000000000000004", "1234567.891"}) {
+            assertEquals(Double.parseDouble(num), ACFUtil.parseDecimal(num, false), num);
+        }
+        assertEquals(2500D, ACFUtil.parseDecimal("2.5k", true));
+        assertEquals(3000000D, ACFUtil.parseDecimal("3M", true));
+        assertThrows(NumberFormatException.class, () -> ACFUtil.parseDecimal("2.5k", false));
+        assertThrows(NumberFormatException.class, () -> ACFUtil.parseDecimal("-", false));
+        assertThrows(NumberFormatException.class, () -> ACFUtil.parseDecimal("k", true));
+        assertThrows(NumberFormatException.class, () -> ACFUtil.parseDecimal("1.2.3", false));
+    }
+
+    @CommandAlias("primitive")
+    public static class PrimitiveCommand extends BaseCommand {
+        final List<Object> received = new ArrayList<>();
+
+        @Subcommand("all")
+        public void onAll(TestCommandSender sender, int i, long l, double d, boolean b, short s, Integer boxed) {
+            received.addAll(Arrays.asList(i, l, d, b, s, boxed));
+        }
+
+        @Subcommand("money")
+        public void onMoney(TestCommandSender sender, @Flags("suffixes,max=5000000") long amount) {
+            received.add(amount);
+        }
+
+        @Subcommand("even")
+        public void onEven(TestCommandSender sender, @Conditions("even") int number) {
+            received.add(number);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2016-2019 Daniel Ennis (Aikar) - MIT License
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining
+ *  a copy of this software and associated documentation files (the
+ *  "Software"), to deal in the Software without restriction, including
+ *  without limitation the rights to use, copy, modify, merge, publish,
+ *  distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to
+ *  the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be
+ *  included in all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *  EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *  MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *  NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ *  LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ *  OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ *  WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package co.aikar.commands;
+
+import co.aikar.commands.annotation.CommandAlias;
+import co.aikar.commands.annotation.CommandPermission;
+import co.aikar.commands.annotation.Private;
+import co.aikar.commands.annotation.Subcommand;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SubcommandCompletionIndexTests {
+
+    private IndexedCommand command;
+    private CommandIssuer issuer;
+
+    @BeforeEach
+    public void initEach() {
+        TestCommandManager manager = new TestCommandManager();
+        command = new IndexedCommand();
+        manager.registerCommand(command);
+        issuer = manager.getCommandIssuer(new TestCommandSender());
+    }
+
+    private Set<String> complete(String prefix, int depth) {
+        Set<String> completions = new HashSet<>();
+        SubcommandCompletionIndex.build(command.subCommands, 0).complete(issuer, prefix, depth, completions);
+        return completions;
+    }
+
+    @Test
+    public void testPrefixRange() {
+        assertEquals(new HashSet<>(Arrays.asList("set", "setup", "show")), complete("", 0));
+        assertEquals(new HashSet<>(Arrays.asList("set", "setup")), complete("se", 0));
+        assertEquals(new HashSet<>(Arrays.asList("list")), complete("set ", 1));
+        assertEquals(new HashSet<>(), complete("x", 0));
+    }
+
+    @Test
+    public void testFindsEveryOverloadOfAKey() {
+        // Only one of the "set" overloads may be used, it has to be found whichever of the equal keys it sorts to
+        assertEquals(new HashSet<>(Arrays.asList("set", "setup")), complete("set", 0));
+    }
+
+    @Test
+    public void testIsCurrent() {
+        SubcommandCompletionIndex index = SubcommandCompletionIndex.build(command.subCommands, 3);
+        assertTrue(index.isCurrent(3));
+        assertFalse(index.isCurrent(4));
+    }
+
+    @CommandAlias("indexed")
+    public class IndexedCommand extends BaseCommand {
+        @Subcommand("set")
+        @CommandPermission("denied")
+        public void onSet(TestCommandSender sender) {
+        }
+
+        @Subcommand("set")
+        @CommandPermission("denied")
+        public void onSet(TestCommandSender sender, String a) {
+        }
+
+        @Subcommand("set")
+        public void onSet(TestCommandSender sender, String a, String b) {
+        }
+
+        @Subcommand("set")
+        @CommandPermission("denied")
+        public void onSet(TestCommandSender sender, String a, String b, String c) {
+        }
+
+        @Subcommand("set list")
+        public void onSetList(TestCommandSender sender) {
+        }
+
+        @Subcommand("setup")
+        public void onSetup(TestCommandSender sender) {
+        }
+
+        @Subcommand("show")
+        public void onShow(TestCommandSender sender) {
+        }
+
+        @Subcommand("secret")
+        @Private
+        public void onSecret(TestCommandSender sender) {
+        }
+    }
+}
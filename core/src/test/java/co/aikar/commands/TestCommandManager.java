@@ -25,7 +25,6 @@ package co.aikar.commands;
 
 import co.aikar.commands.apachecommonslang.ApacheCommonsExceptionUtil;
 
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -147,20 +146,15 @@ public class TestCommandManager extends CommandManager<
     }
 
     public void dispatchCommand(TestCommandSender sender, String command) {
-        String[] args = ACFPatterns.SPACE.split(command, -1);
-        if (args.length == 0) {
+        CommandArguments arguments = CommandArguments.tokenize(command);
+        if (arguments.isEmpty()) {
             return;
         }
-        String cmd = args[0].toLowerCase(Locale.ENGLISH);
+        String cmd = arguments.get(0).toLowerCase(Locale.ENGLISH);
         TestRootCommand rootCommand = commands.get(cmd);
         if (rootCommand == null) {
             return;
         }
-        if (args.length > 1) {
-            args = Arrays.copyOfRange(args, 1, args.length);
-        } else {
-            args = new String[0];
-        }
-        rootCommand.execute(this.getCommandIssuer(sender), cmd, args);
+        rootCommand.execute(this.getCommandIssuer(sender), cmd, arguments.toArray(1));
     }
 }
@@ -36,6 +36,7 @@ public class TestRootCommand implements RootCommand {
     private TestCommandManager manager;
     private BaseCommand defCommand;
     private SetMultimap<String, RegisteredCommand> subCommands = HashMultimap.create();
+    private final SubcommandTrie subcommandTrie = new SubcommandTrie();
     private List<BaseCommand> children = new ArrayList<>();
 
     TestRootCommand(TestCommandManager manager, String name) {
@@ -62,6 +63,11 @@ public class TestRootCommand implements RootCommand {
         return this.subCommands;
     }
 
+    @Override
+    public SubcommandTrie getSubcommandTrie() {
+        return this.subcommandTrie;
+    }
+
     @Override
     public List<BaseCommand> getChildren() {
         return this.children;
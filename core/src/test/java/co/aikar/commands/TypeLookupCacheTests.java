@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2016-2019 Daniel Ennis (Aikar) - MIT License
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining
+ *  a copy of this software and associated documentation files (the
+ *  "Software"), to deal in the Software without restriction, including
+ *  without limitation the rights to use, copy, modify, merge, publish,
+ *  distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to
+ *  the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be
+ *  included in all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *  EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *  MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *  NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ *  LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ *  OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ *  WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package co.aikar.commands;
+
+import co.aikar.commands.contexts.ContextResolver;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class TypeLookupCacheTests {
+
+    private final Map<Class<?>, String> registered = new HashMap<>();
+    private int lookups;
+    private final TypeLookupCache<String> cache = new TypeLookupCache<>(type -> {
+        lookups++;
+        for (; type != null; type = type.getSuperclass()) {
+            String value = registered.get(type);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    });
+
+    @Test
+    public void testCachesUntilInvalidated() {
+        registered.put(Number.class, "number");
+        assertEquals("number", cache.get(Integer.class));
+        assertEquals("number", cache.get(Integer.class));
+        assertNull(cache.get(String.class));
+        assertNull(cache.get(String.class));
+        assertEquals(2, lookups);
+
+        registered.put(Integer.class, "integer");
+        cache.invalidate();
+        assertEquals("integer", cache.get(Integer.class));
+        assertEquals("number", cache.get(Long.class));
+        assertEquals(4, lookups);
+    }
+
+    @Test
+    public void testContextMapWritesInvalidate() {
+        TestCommandContexts contexts = new TestCommandContexts(new TestCommandManager());
+        ContextResolver<Integer, TestCommandExecutionContext> resolver = c -> 1;
+        assertNotSame(resolver, contexts.getResolver(Integer.class));
+        contexts.contextMap.put(Integer.class, resolver);
+        assertSame(resolver, contexts.getResolver(Integer.class));
+        contexts.contextMap.remove(Integer.class);
+        assertSame(contexts.getResolver(Number.class), contexts.getResolver(Integer.class));
+    }
+}
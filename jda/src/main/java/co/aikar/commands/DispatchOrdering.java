@@ -0,0 +1,32 @@
+package co.aikar.commands;
+
+import net.dv8tion.jda.api.entities.ChannelType;
+import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
+
+/**
+ * Decides which messages must be dispatched one after another when commands run on a {@link JDADispatchExecutor}.
+ * Messages that share a key are executed in the order they were received, messages with different keys may run in parallel.
+ */
+public interface DispatchOrdering {
+    /**
+     * Every message may run in parallel with every other message.
+     */
+    DispatchOrdering NONE = event -> null;
+    /**
+     * Messages sent to the same channel are executed in order.
+     */
+    DispatchOrdering PER_CHANNEL = event -> event.getChannel().getIdLong();
+    /**
+     * Messages sent by the same user are executed in order, regardless of where they were sent.
+     */
+    DispatchOrdering PER_AUTHOR = event -> event.getAuthor().getIdLong();
+    /**
+     * Messages sent to the same guild are executed in order. Private messages are ordered per channel.
+     */
+    DispatchOrdering PER_GUILD = event -> event.isFromType(ChannelType.TEXT) ? event.getGuild().getIdLong() : event.getChannel().getIdLong();
+
+    /**
+     * @return the key to serialize this message on, or null if it does not need to be ordered
+     */
+    Object getKey(MessageReceivedEvent event);
+}
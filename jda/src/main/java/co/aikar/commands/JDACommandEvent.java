@@ -45,6 +45,12 @@ public class JDACommandEvent implements CommandIssuer {
         return new UUID(0, authorId);
     }
 
+    @Override
+    public UUID getPermissionCacheKey() {
+        // Permissions depend on the guild and channel of the message, not only on its author
+        return null;
+    }
+
     @Override
     public boolean hasPermission(String permission) {
         CommandPermissionResolver permissionResolver = this.manager.getPermissionResolver();
@@ -8,7 +8,6 @@ import net.dv8tion.jda.api.entities.Message;
 import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -36,6 +35,9 @@ public class JDACommandManager extends CommandManager<
     private CommandConfig defaultConfig;
     private CommandConfigProvider configProvider;
     private CommandPermissionResolver permissionResolver;
+    private final boolean quotedArguments;
+    private final JDADispatchExecutor dispatchExecutor;
+    private final DispatchOrdering dispatchOrdering;
     private long botOwner = 0L;
 
     public JDACommandManager(JDA jda) {
@@ -51,6 +53,9 @@ public class JDACommandManager extends CommandManager<
         jda.addEventListener(new JDAListener(this));
         this.defaultConfig = options.defaultConfig == null ? new JDACommandConfig() : options.defaultConfig;
         this.configProvider = options.configProvider;
+        this.quotedArguments = options.quotedArguments;
+        this.dispatchExecutor = options.dispatchExecutor;
+        this.dispatchOrdering = options.dispatchOrdering;
         this.defaultFormatter = new JDAMessageFormatter();
         this.completions = new JDACommandCompletions(this);
         this.logger = Logger.getLogger(this.getClass().getSimpleName());
@@ -234,6 +239,25 @@ public class JDACommandManager extends CommandManager<
         }
     }
 
+    void dispatch(MessageReceivedEvent event) {
+        if (this.dispatchExecutor.isSync()) {
+            dispatchEvent(event);
+            return;
+        }
+        this.dispatchExecutor.execute(this.dispatchOrdering.getKey(event), () -> {
+            try {
+                dispatchEvent(event);
+            } catch (Exception e) {
+                log(LogLevel.ERROR, "Exception dispatching command message: " + event.getMessage().getContentRaw(), e);
+            }
+        });
+    }
+
+    void shutdownDispatcher() {
+        this.dispatchExecutor.shutdown();
+        this.asyncCommandTracker.shutdown();
+    }
+
     void dispatchEvent(MessageReceivedEvent event) {
         Message message = event.getMessage();
         String msg = message.getContentRaw();
@@ -251,21 +275,16 @@ public class JDACommandManager extends CommandManager<
             return;
         }
 
-        String[] args = ACFPatterns.SPACE.split(msg.substring(prefixFound.length()), -1);
-        if (args.length == 0) {
+        CommandArguments arguments = CommandArguments.tokenize(msg, prefixFound.length(), this.quotedArguments);
+        if (arguments.isEmpty()) {
             return;
         }
-        String cmd = args[0].toLowerCase(Locale.ENGLISH);
+        String cmd = arguments.get(0).toLowerCase(Locale.ENGLISH);
         JDARootCommand rootCommand = this.commands.get(cmd);
         if (rootCommand == null) {
             return;
         }
-        if (args.length > 1) {
-            args = Arrays.copyOfRange(args, 1, args.length);
-        } else {
-            args = new String[0];
-        }
-        rootCommand.execute(this.getCommandIssuer(event), cmd, args);
+        rootCommand.execute(this.getCommandIssuer(event), cmd, arguments.toArray(1));
     }
 
     private CommandConfig getCommandConfig(MessageReceivedEvent event) {
@@ -0,0 +1,163 @@
+package co.aikar.commands;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Controls which thread received messages are dispatched on.
+ * <p>
+ * By default commands run directly on the JDA event thread, which blocks gateway event processing until they finish.
+ * A pooled or virtual thread executor moves command execution off that thread, while the {@link DispatchOrdering}
+ * configured on {@link JDAOptions} keeps related messages serialized.
+ */
+public final class JDADispatchExecutor {
+
+    private static final JDADispatchExecutor SYNC = new JDADispatchExecutor(null, false);
+
+    private final Executor executor;
+    private final boolean owned;
+    private final ConcurrentMap<Object, SerialQueue> queues = new ConcurrentHashMap<>();
+
+    private JDADispatchExecutor(Executor executor, boolean owned) {
+        this.executor = executor;
+        this.owned = owned;
+    }
+
+    /**
+     * Runs commands on the JDA event thread that received the message. This is the default.
+     */
+    public static JDADispatchExecutor sync() {
+        return SYNC;
+    }
+
+    /**
+     * Runs commands on a pool of at most the given amount of platform threads.
+     */
+    public static JDADispatchExecutor pool(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1");
+        }
+        AtomicInteger count = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "ACF JDA Dispatch #" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        pool.allowCoreThreadTimeOut(true);
+        return new JDADispatchExecutor(pool, true);
+    }
+
+    /**
+     * Runs every command on its own virtual thread.
+     *
+     * @throws UnsupportedOperationException if the running JVM is older than Java 21
+     */
+    public static JDADispatchExecutor virtualThreads() {
+        try {
+            Executor executor = (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            return new JDADispatchExecutor(executor, true);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("Virtual threads require Java 21 or newer", e);
+        }
+    }
+
+    /**
+     * Runs commands on an executor managed by the caller. It will not be shut down by ACF.
+     */
+    public static JDADispatchExecutor of(@NotNull Executor executor) {
+        return new JDADispatchExecutor(executor, false);
+    }
+
+    boolean isSync() {
+        return executor == null;
+    }
+
+    /**
+     * Runs the task after every task previously submitted with an equal key has completed.
+     * A null key places no ordering constraints on the task.
+     */
+    void execute(Object key, Runnable task) {
+        if (executor == null) {
+            task.run();
+            return;
+        }
+        if (key == null) {
+            executor.execute(task);
+            return;
+        }
+        boolean[] created = {false};
+        SerialQueue queue = queues.compute(key, (k, existing) -> {
+            if (existing == null) {
+                existing = new SerialQueue(k);
+                created[0] = true;
+            }
+            existing.tasks.add(task);
+            return existing;
+        });
+        if (created[0]) {
+            queue.submit();
+        }
+    }
+
+    void shutdown() {
+        if (owned && executor instanceof ExecutorService) {
+            ((ExecutorService) executor).shutdown();
+        }
+    }
+
+    /**
+     * Runs the tasks of one key one at a time. The queue only lives in the map while it has work,
+     * and it is resubmitted after every task so a busy key can't starve the others on a bounded pool.
+     */
+    private final class SerialQueue implements Runnable {
+        private final Object key;
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+        SerialQueue(Object key) {
+            this.key = key;
+        }
+
+        @Override
+        public void run() {
+            Runnable task = tasks.peek();
+            try {
+                task.run();
+            } finally {
+                boolean[] more = {false};
+                queues.computeIfPresent(key, (k, queue) -> {
+                    queue.tasks.poll();
+                    more[0] = !queue.tasks.isEmpty();
+                    return more[0] ? queue : null;
+                });
+                if (more[0]) {
+                    submit();
+                }
+            }
+        }
+
+        /**
+         * Hands the queue to the executor. If it is rejected, e.g. because the executor was shut down, the queue and
+         * its pending tasks are dropped so the key is not blocked forever.
+         */
+        void submit() {
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                queues.remove(key, this);
+                throw e;
+            }
+        }
+    }
+}
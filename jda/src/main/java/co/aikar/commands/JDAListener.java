@@ -2,6 +2,7 @@ package co.aikar.commands;
 
 import net.dv8tion.jda.api.entities.ChannelType;
 import net.dv8tion.jda.api.events.ReadyEvent;
+import net.dv8tion.jda.api.events.ShutdownEvent;
 import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
 import net.dv8tion.jda.api.hooks.ListenerAdapter;
 
@@ -17,7 +18,7 @@ public class JDAListener extends ListenerAdapter {
     @Override
     public void onMessageReceived(MessageReceivedEvent event) {
         if (event.isFromType(ChannelType.TEXT) || event.isFromType(ChannelType.PRIVATE)) {
-            this.manager.dispatchEvent(event);
+            this.manager.dispatch(event);
         }
     }
 
@@ -25,4 +26,9 @@ public class JDAListener extends ListenerAdapter {
     public void onReady(ReadyEvent event) {
         manager.initializeBotOwner();
     }
+
+    @Override
+    public void onShutdown(ShutdownEvent event) {
+        manager.shutdownDispatcher();
+    }
 }
@@ -7,6 +7,9 @@ public class JDAOptions {
     CommandConfig defaultConfig = new JDACommandConfig();
     CommandConfigProvider configProvider = null;
     CommandPermissionResolver permissionResolver = new JDACommandPermissionResolver();
+    boolean quotedArguments = false;
+    JDADispatchExecutor dispatchExecutor = JDADispatchExecutor.sync();
+    DispatchOrdering dispatchOrdering = DispatchOrdering.PER_CHANNEL;
 
     public JDAOptions() {
     }
@@ -26,6 +29,31 @@ public class JDAOptions {
         return this;
     }
 
+    /**
+     * Allows arguments wrapped in double quotes to contain spaces, e.g. {@code !tag set "some long value"}.
+     */
+    public JDAOptions quotedArguments(boolean quotedArguments) {
+        this.quotedArguments = quotedArguments;
+        return this;
+    }
+
+    /**
+     * Sets where commands are executed once a message has been received, see {@link JDADispatchExecutor}.
+     */
+    public JDAOptions dispatchExecutor(@NotNull JDADispatchExecutor dispatchExecutor) {
+        this.dispatchExecutor = dispatchExecutor;
+        return this;
+    }
+
+    /**
+     * Sets which messages stay serialized when a non synchronous {@link #dispatchExecutor(JDADispatchExecutor)} is used.
+     * Defaults to {@link DispatchOrdering#PER_CHANNEL}.
+     */
+    public JDAOptions dispatchOrdering(@NotNull DispatchOrdering dispatchOrdering) {
+        this.dispatchOrdering = dispatchOrdering;
+        return this;
+    }
+
     public JDACommandManager create(JDA jda) {
         return new JDACommandManager(jda, this);
     }
@@ -13,6 +13,7 @@ public class JDARootCommand implements RootCommand {
     private JDACommandManager manager;
     private BaseCommand defCommand;
     private SetMultimap<String, RegisteredCommand> subCommands = HashMultimap.create();
+    private final SubcommandTrie subcommandTrie = new SubcommandTrie();
     private List<BaseCommand> children = new ArrayList<>();
 
     JDARootCommand(JDACommandManager manager, String name) {
@@ -39,6 +40,11 @@ public class JDARootCommand implements RootCommand {
         return this.subCommands;
     }
 
+    @Override
+    public SubcommandTrie getSubcommandTrie() {
+        return this.subcommandTrie;
+    }
+
     @Override
     public List<BaseCommand> getChildren() {
         return this.children;
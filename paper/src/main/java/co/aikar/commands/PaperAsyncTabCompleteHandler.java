@@ -29,7 +29,6 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.server.TabCompleteEvent;
 
-import java.util.Arrays;
 import java.util.List;
 
 class PaperAsyncTabCompleteHandler implements Listener {
@@ -66,10 +65,10 @@ class PaperAsyncTabCompleteHandler implements Listener {
     }
 
     private List<String> getCompletions(String buffer, List<String> existingCompletions, CommandSender sender, boolean async) {
-        String[] args = ACFPatterns.SPACE.split(buffer, -1);
+        CommandArguments arguments = CommandArguments.tokenize(buffer, buffer.startsWith("/") ? 1 : 0, false);
 
-        String commandLabel = stripLeadingSlash(args[0]);
-        args = args.length > 1 ? Arrays.copyOfRange(args, 1, args.length) : new String[]{""};
+        String commandLabel = arguments.get(0);
+        String[] args = arguments.size() > 1 ? arguments.toArray(1) : new String[]{""};
 
         RootCommand rootCommand = this.manager.getRootCommand(commandLabel);
         if (rootCommand == null) {
@@ -81,8 +80,4 @@ class PaperAsyncTabCompleteHandler implements Listener {
 
         return ACFUtil.preformOnImmutable(existingCompletions, (list) -> list.addAll(completions));
     }
-
-    private static String stripLeadingSlash(String arg) {
-        return arg.startsWith("/") ? arg.substring(1) : arg;
-    }
 }
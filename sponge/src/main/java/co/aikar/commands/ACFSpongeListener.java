@@ -5,6 +5,7 @@ import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.Order;
 import org.spongepowered.api.event.entity.living.humanoid.player.PlayerChangeClientSettingsEvent;
 import org.spongepowered.api.event.filter.cause.First;
+import org.spongepowered.api.event.game.state.GameStoppingServerEvent;
 import org.spongepowered.api.event.network.ClientConnectionEvent;
 
 public class ACFSpongeListener {
@@ -24,5 +25,11 @@ public class ACFSpongeListener {
     @Listener
     public void onDisconnectCleanup(ClientConnectionEvent.Disconnect disconnectEvent, @First Player player) {
         manager.issuersLocale.remove(player.getUniqueId());
+        manager.getPermissionCache().invalidate(player.getUniqueId());
+    }
+
+    @Listener
+    public void onServerStopping(GameStoppingServerEvent event) {
+        manager.getAsyncCommandTracker().shutdown();
     }
 }
@@ -129,11 +129,7 @@ public class SpongeCommandContexts extends CommandContexts<SpongeCommandExecutio
             final String search = c.popFirstArg();
             boolean allowMissing = c.hasFlag("allowmissing");
             Set<OnlinePlayer> players = new HashSet<>();
-            Pattern split = ACFPatterns.COMMA;
-            String splitter = c.getFlagValue("splitter", (String) null);
-            if (splitter != null) {
-                split = Pattern.compile(Pattern.quote(splitter));
-            }
+            Pattern split = c.getParameterFlags().getSplitter(ACFPatterns.COMMA);
             for (String lookup : split.split(search)) {
                 OnlinePlayer player = getOnlinePlayer(issuer, lookup, allowMissing);
                 if (player != null) {
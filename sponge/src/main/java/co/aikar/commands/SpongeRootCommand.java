@@ -45,6 +45,7 @@ public class SpongeRootCommand implements CommandCallable, RootCommand {
     private final String name;
     private BaseCommand defCommand;
     private SetMultimap<String, RegisteredCommand> subCommands = HashMultimap.create();
+    private final SubcommandTrie subcommandTrie = new SubcommandTrie();
     private List<BaseCommand> children = new ArrayList<>();
     boolean isRegistered = false;
 
@@ -60,13 +61,13 @@ public class SpongeRootCommand implements CommandCallable, RootCommand {
 
     @Override
     public CommandResult process(@NotNull CommandSource source, @NotNull String arguments) throws CommandException {
-        String[] args = arguments.isEmpty() ? new String[0] : arguments.split(" ");
+        String[] args = arguments.isEmpty() ? new String[0] : CommandArguments.tokenize(arguments).trimTrailingEmpty().toArray(0);
         return this.executeSponge(manager.getCommandIssuer(source), this.name, args);
     }
 
     @Override
     public List<String> getSuggestions(@NotNull CommandSource source, @NotNull String arguments, @Nullable Location<World> location) throws CommandException {
-        String[] args = arguments.isEmpty() ? new String[]{""} : arguments.split(" ");
+        String[] args = arguments.isEmpty() ? new String[]{""} : CommandArguments.tokenize(arguments).trimTrailingEmpty().toArray(0);
         return getTabCompletions(manager.getCommandIssuer(source), this.name, args);
     }
 
@@ -120,6 +121,11 @@ public class SpongeRootCommand implements CommandCallable, RootCommand {
         return subCommands;
     }
 
+    @Override
+    public SubcommandTrie getSubcommandTrie() {
+        return subcommandTrie;
+    }
+
     @Override
     public List<BaseCommand> getChildren() {
         return children;
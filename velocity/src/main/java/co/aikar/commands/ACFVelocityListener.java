@@ -5,7 +5,9 @@ import java.util.concurrent.TimeUnit;
 import com.velocitypowered.api.event.Subscribe;
 import com.velocitypowered.api.event.connection.DisconnectEvent;
 import com.velocitypowered.api.event.connection.PostLoginEvent;
+import com.velocitypowered.api.event.permission.PermissionsSetupEvent;
 import com.velocitypowered.api.event.player.PlayerSettingsChangedEvent;
+import com.velocitypowered.api.event.player.ServerConnectedEvent;
 import com.velocitypowered.api.plugin.PluginContainer;
 import com.velocitypowered.api.proxy.Player;
 import com.velocitypowered.api.proxy.ProxyServer;
@@ -36,6 +38,20 @@ public class ACFVelocityListener {
         // cleanup
         Player player = disconnectEvent.getPlayer();
         manager.issuersLocale.remove(player.getUniqueId());
+        manager.getPermissionCache().invalidate(player.getUniqueId());
+    }
+
+    @Subscribe
+    public void onServerConnected(ServerConnectedEvent connectedEvent) {
+        // permissions may depend on the server the player is on
+        manager.getPermissionCache().invalidate(connectedEvent.getPlayer().getUniqueId());
+    }
+
+    @Subscribe
+    public void onPermissionsSetup(PermissionsSetupEvent setupEvent) {
+        if (setupEvent.getSubject() instanceof Player) {
+            manager.getPermissionCache().invalidate(((Player) setupEvent.getSubject()).getUniqueId());
+        }
     }
 
     @Subscribe
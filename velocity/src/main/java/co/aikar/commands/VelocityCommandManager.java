@@ -157,6 +157,7 @@ public class VelocityCommandManager extends
         for (Map.Entry<String, VelocityRootCommand> entry : registeredCommands.entrySet()) {
             unregisterCommand(entry.getValue());
         }
+        this.asyncCommandTracker.shutdown();
     }
 
     @Override
@@ -37,6 +37,7 @@ public class VelocityRootCommand implements Command, RootCommand {
     private final String name;
     private BaseCommand defCommand;
     private SetMultimap<String, RegisteredCommand> subCommands = HashMultimap.create();
+    private final SubcommandTrie subcommandTrie = new SubcommandTrie();
     private List<BaseCommand> children = new ArrayList<>();
     boolean isRegistered = false;
 
@@ -69,6 +70,11 @@ public class VelocityRootCommand implements Command, RootCommand {
         return subCommands;
     }
 
+    @Override
+    public SubcommandTrie getSubcommandTrie() {
+        return subcommandTrie;
+    }
+
     @Override
     public List<BaseCommand> getChildren() {
         return children;